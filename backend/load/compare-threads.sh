@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+#
+# Compares platform-thread and virtual-thread request execution under the same load.
+#
+# Needs JDK 21+ (the virtual-threads profile refuses to start on older JDKs), curl and
+# hey (https://github.com/rakyll/hey). Run from backend/:
+#
+#   ./load/compare-threads.sh              # both profiles, results in load/results/
+#   PROFILES="test" ./load/compare-threads.sh
+#
+# Every request authenticates with HTTP basic as a seeded user. The first request pays
+# for bcrypt, later ones hit the credential memo (app.security.password.memo-ttl), so
+# the hashing cost is warmed up before measuring and does not cap throughput.
+#
+# For each profile and concurrency level it runs, one after the other:
+#   products-page   GET   /products?page=0&size=12
+#   product         GET   /products/1
+#   categories      GET   /categories
+#   mixed           the products-page load plus 4 concurrent PATCH /products/2 writers;
+#                   the writer latencies show whether reads leave connections for writes
+#
+# Watch jdbc-read / hikaricp metrics at /actuator/metrics while it runs if needed.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PROFILES=${PROFILES:-"test test,virtual-threads"}
+CONCURRENCY=${CONCURRENCY:-"50 200 800"}
+DURATION=${DURATION:-30s}
+WRITERS=${WRITERS:-4}
+PORT=${PORT:-8080}
+CREDENTIALS=${CREDENTIALS:-maria@gmail.com:123456}
+BASE_URL="http://localhost:${PORT}"
+AUTH="Authorization: Basic $(printf '%s' "$CREDENTIALS" | base64)"
+RESULTS=${RESULTS:-load/results/$(date +%Y%m%d-%H%M%S)}
+
+command -v hey >/dev/null || { echo "hey not found, see https://github.com/rakyll/hey" >&2; exit 1; }
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/dscatalog-*.jar | grep -v original | head -1)
+mkdir -p "$RESULTS"
+java -version 2>&1 | head -1 > "$RESULTS/jdk.txt"
+
+run() {
+	local name=$1 out=$2
+	shift 2
+	hey -z "$DURATION" -H "$AUTH" "$@" > "$out/$name.txt"
+	grep -E "Requests/sec|99% in|\[[0-9]{3}\]" "$out/$name.txt" | sed "s/^/  $name: /"
+}
+
+for profile in $PROFILES; do
+	out="$RESULTS/${profile//,/+}"
+	mkdir -p "$out"
+	echo "== $profile"
+	APP_PROFILE=$profile java -jar "$JAR" --server.port="$PORT" > "$out/app.log" 2>&1 &
+	app=$!
+	trap 'kill $app 2>/dev/null || true' EXIT
+	until curl -sf "$BASE_URL/actuator/health" >/dev/null; do
+		kill -0 $app 2>/dev/null || { echo "app failed to start, see $out/app.log" >&2; exit 1; }
+		sleep 1
+	done
+	# warm up: JIT, caches and the credential memo
+	hey -z 10s -c 20 -H "$AUTH" "$BASE_URL/products?page=0&size=12" > /dev/null
+
+	for c in $CONCURRENCY; do
+		echo "-- concurrency $c"
+		run "products-page-c$c" "$out" -c "$c" "$BASE_URL/products?page=0&size=12"
+		run "product-c$c" "$out" -c "$c" "$BASE_URL/products/1"
+		run "categories-c$c" "$out" -c "$c" "$BASE_URL/categories"
+
+		hey -z "$DURATION" -c "$c" -H "$AUTH" "$BASE_URL/products?page=0&size=12" > "$out/mixed-reads-c$c.txt" &
+		readers=$!
+		run "mixed-writes-c$c" "$out" -c "$WRITERS" -m PATCH -T "application/merge-patch+json" \
+			-d '{"price": 2190.0}' "$BASE_URL/products/2"
+		wait $readers
+	done
+
+	kill $app
+	wait $app 2>/dev/null || true
+	trap - EXIT
+done
+
+echo "Results in $RESULTS"
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.Role;
+import com.devsuperior.dscatalog.entities.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+	@Param({ "1", "3", "10" })
+	private int categories;
+
+	private Product product;
+	private User user;
+
+	@Setup
+	public void setup() {
+		product = new Product(1L, "Smart TV", "Lorem ipsum dolor sit amet, consectetur adipiscing elit.", 2190.0,
+				"https://img.com/img.png", Instant.parse("2020-07-14T10:00:00Z"));
+		for (long i = 1; i <= categories; i++) {
+			product.getCategories().add(new Category(i, "Category " + i));
+		}
+		user = new User(1L, "Maria", "Green", "maria@gmail.com", "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG");
+		user.getRoles().add(new Role(1L, "ROLE_OPERATOR"));
+		user.getRoles().add(new Role(2L, "ROLE_ADMIN"));
+	}
+
+	@Benchmark
+	public ProductDTO productDto() {
+		return new ProductDTO(product);
+	}
+
+	@Benchmark
+	public ProductDTO productDtoWithCategories() {
+		return new ProductDTO(product, product.getCategories());
+	}
+
+	@Benchmark
+	public UserDTO userDto() {
+		return new UserDTO(user);
+	}
+}
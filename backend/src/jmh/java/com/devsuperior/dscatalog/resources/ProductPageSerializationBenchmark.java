@@ -0,0 +1,62 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPageSerializationBenchmark {
+
+	@Param({ "12", "100", "1000" })
+	private int pageSize;
+
+	private ObjectMapper mapper;
+	private Page<ProductDTO> page;
+
+	@Setup
+	public void setup() {
+		mapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		List<ProductDTO> content = new ArrayList<>();
+		for (long i = 1; i <= pageSize; i++) {
+			ProductDTO dto = new ProductDTO(i, "Product " + i, "Lorem ipsum dolor sit amet, consectetur adipiscing elit.",
+					100.0 + i, "https://img.com/" + i + ".png", Instant.parse("2020-07-14T10:00:00Z"));
+			dto.getCategories().add(new CategoryDTO(i % 3 + 1, "Category " + (i % 3 + 1)));
+			content.add(dto);
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000_000L);
+	}
+
+	@Benchmark
+	public byte[] writePage() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(page);
+	}
+}
@@ -0,0 +1,75 @@
+package com.devsuperior.dscatalog.services;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CopyDtoToEntityBenchmark {
+
+	@Param({ "1", "3", "10" })
+	private int categories;
+
+	private ProductService service;
+	private ProductDTO dto;
+
+	@Setup
+	public void setup() {
+		Map<Long, Category> references = new HashMap<>();
+		dto = new ProductDTO(null, "Smart TV", "Lorem ipsum dolor sit amet, consectetur adipiscing elit.", 2190.0,
+				"https://img.com/img.png", Instant.parse("2020-07-14T10:00:00Z"));
+		for (long i = 1; i <= categories; i++) {
+			references.put(i, new Category(i, "Category " + i));
+			dto.getCategories().add(new CategoryDTO(i, "Category " + i));
+		}
+
+		CategorySnapshot snapshot = new CategorySnapshot() {
+			@Override
+			public boolean contains(Long id) {
+				return references.containsKey(id);
+			}
+		};
+		CategoryRepository categoryRepository = (CategoryRepository) Proxy.newProxyInstance(
+				CategoryRepository.class.getClassLoader(), new Class<?>[] { CategoryRepository.class },
+				(proxy, method, args) -> method.getName().equals("getOne") ? references.get(args[0]) : null);
+
+		service = new ProductService();
+		ReflectionTestUtils.setField(service, "categorySnapshot", snapshot);
+		ReflectionTestUtils.setField(service, "productyRepository", categoryRepository);
+	}
+
+	// a fresh entity every call: on a reused one the category diff finds nothing to do after the first call
+	@Benchmark
+	public Product copyDtoToEntity() {
+		Product product = new Product();
+		service.copyDtoToEntity(dto, product);
+		return product;
+	}
+}
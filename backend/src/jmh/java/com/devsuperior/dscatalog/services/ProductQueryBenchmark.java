@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.seed.CatalogSeeder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductQueryBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	private int products;
+
+	private ConfigurableApplicationContext context;
+	private ProductService service;
+	private Pageable pageable;
+
+	@Setup
+	public void setup() {
+		context = new SpringApplicationBuilder(DscatalogApplication.class).web(WebApplicationType.NONE)
+				.properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+						"spring.jpa.properties.hibernate.generate_statistics=false")
+				.run();
+		CatalogSeeder seeder = new CatalogSeeder(context.getBean(JdbcTemplate.class), 42, 5_000);
+		seeder.seedProducts(products, seeder.seedCategories(50), 3);
+		service = context.getBean(ProductService.class);
+		pageable = PageRequest.of(0, 12, Sort.by("name"));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Slice<ProductDTO> findAllPagedExactCount() {
+		return service.findAllPaged(pageable, CountMode.EXACT, false);
+	}
+
+	@Benchmark
+	public Slice<ProductDTO> findAllPagedWithoutCount() {
+		return service.findAllPaged(pageable, CountMode.NONE, false);
+	}
+
+	@Benchmark
+	public Slice<ProductDTO> findAllPagedWithCategories() {
+		return service.findAllPaged(pageable, CountMode.NONE, true);
+	}
+}
@@ -1,14 +1,40 @@
 package com.devsuperior.dscatalog.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.devsuperior.dscatalog.services.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
-	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	@Value("${app.security.password.strength}")
+	private int strength;
+
+	@Value("${app.security.password.threads}")
+	private int threads;
+
+	@Value("${app.security.password.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${app.security.password.timeout}")
+	private Duration timeout;
+
+	@Value("${app.security.password.memo-ttl}")
+	private Duration memoTtl;
+
+	@Bean(destroyMethod = "shutdown")
+	public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeout, memoTtl,
+				meterRegistry);
 	}
 }
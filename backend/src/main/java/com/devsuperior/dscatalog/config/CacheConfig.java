@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+	@Bean
+	public CacheManagerCustomizer<CaffeineCacheManager> usersCacheCustomizer(
+			@Value("${app.cache.users.spec}") String spec) {
+		return cacheManager -> cacheManager.registerCustomCache("users", Caffeine.from(spec).build());
+	}
+
+	@Bean
+	public UserCache userCache(CacheManager cacheManager) throws Exception {
+		return new SpringCacheBasedUserCache(cacheManager.getCache("users"));
+	}
+}
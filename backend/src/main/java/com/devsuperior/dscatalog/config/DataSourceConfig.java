@@ -0,0 +1,98 @@
+package com.devsuperior.dscatalog.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+	@Value("${app.datasource.replica-urls}")
+	private List<String> replicaUrls;
+
+	@Value("${app.datasource.replica-connection-timeout}")
+	private Duration replicaConnectionTimeout;
+
+	@Value("${app.datasource.sticky-window}")
+	private Duration stickyWindow;
+
+	private final List<HikariDataSource> pools = new ArrayList<>();
+
+	private ReplicaRoutingDataSource routing;
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariConfig primaryPoolConfig() {
+		return new HikariConfig();
+	}
+
+	// the pools are not beans of their own: DataSource beans would be picked up by the schema initializer
+	@Bean
+	@Primary
+	public DataSource dataSource(DataSourceProperties properties, HikariConfig primaryPoolConfig,
+			MeterRegistry meterRegistry) {
+		primaryPoolConfig.setJdbcUrl(properties.determineUrl());
+		primaryPoolConfig.setUsername(properties.determineUsername());
+		primaryPoolConfig.setPassword(properties.determinePassword());
+		primaryPoolConfig.setDriverClassName(properties.determineDriverClassName());
+		primaryPoolConfig.setMetricRegistry(meterRegistry);
+
+		HikariConfig primaryConfig = new HikariConfig();
+		primaryPoolConfig.copyStateTo(primaryConfig);
+		primaryConfig.setPoolName("primary");
+		HikariDataSource primary = pool(primaryConfig);
+
+		List<DataSource> replicas = new ArrayList<>();
+		for (String url : replicaUrls) {
+			HikariConfig replicaConfig = new HikariConfig();
+			primaryPoolConfig.copyStateTo(replicaConfig);
+			replicaConfig.setJdbcUrl(url);
+			replicaConfig.setPoolName("replica-" + replicas.size());
+			replicaConfig.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+			replicaConfig.setInitializationFailTimeout(-1);
+			replicaConfig.setReadOnly(true);
+			replicas.add(pool(replicaConfig));
+		}
+
+		routing = new ReplicaRoutingDataSource(primary, replicas, stickyWindow, meterRegistry);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	@Scheduled(fixedDelayString = "${app.datasource.health-interval}")
+	public void checkReplicas() {
+		if (routing != null) {
+			routing.checkReplicas();
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		pools.forEach(HikariDataSource::close);
+	}
+
+	private HikariDataSource pool(HikariConfig config) {
+		HikariDataSource pool = new HikariDataSource(config);
+		pools.add(pool);
+		return pool;
+	}
+}
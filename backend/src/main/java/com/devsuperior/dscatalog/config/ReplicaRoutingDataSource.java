@@ -0,0 +1,253 @@
+package com.devsuperior.dscatalog.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Sends read-only transactions to a healthy replica and everything else to the
+ * primary. Must sit behind a LazyConnectionDataSourceProxy: the transaction
+ * manager asks for a connection before the read-only flag is bound, the proxy
+ * defers that until the first statement.
+ *
+ * Only read-only transactions can land on a replica, so components that must
+ * see the latest committed state avoid them:
+ * - jobs (JobRepository reads run in read-write transactions, so workers never
+ *   resume from a stale checkpoint or miss a cancel request);
+ * - the outbox relay and the change feed (plain JdbcTemplate, no read-only
+ *   transaction, so sequences are assigned on the primary);
+ * - the category snapshot reloads (a new read-write transaction each time).
+ *
+ * Read-your-writes is tracked per node: the sticky users live in a local
+ * cache, so a user whose next request reaches another node can still read
+ * from a lagging replica there. A user only becomes sticky once a statement
+ * that writes has run and its transaction committed; read-write transactions
+ * that only read (job polling, for one) leave the user on the replicas.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private static final String PRIMARY = "primary";
+
+	private final List<DataSource> replicas;
+
+	private final AtomicReferenceArray<Boolean> healthy;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	// users who wrote on this node within the window read from the primary, so they see their own writes
+	private final Cache<String, Boolean> stickyUsers;
+
+	private final Counter failovers;
+
+	public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration stickyWindow,
+			MeterRegistry registry) {
+		this.replicas = replicas;
+		this.healthy = new AtomicReferenceArray<>(replicas.size());
+		this.stickyUsers = Caffeine.newBuilder().expireAfterWrite(stickyWindow).build();
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			targets.put(i, replicas.get(i));
+			healthy.set(i, Boolean.TRUE);
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+
+		Gauge.builder("datasource.replicas.healthy", this, x -> x.healthyReplicas()).register(registry);
+		this.failovers = Counter.builder("datasource.replicas.failovers").register(registry);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		String user = currentUser();
+		if (user != null && stickyUsers.getIfPresent(user) != null) {
+			return PRIMARY;
+		}
+		for (int i = 0; i < replicas.size(); i++) {
+			int candidate = Math.floorMod(next.getAndIncrement(), replicas.size());
+			if (healthy.get(candidate)) {
+				return candidate;
+			}
+		}
+		return PRIMARY;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return getConnection(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return getConnection(target -> target.getConnection(username, password));
+	}
+
+	private Connection getConnection(ConnectionSource source) throws SQLException {
+		Object key = determineCurrentLookupKey();
+		if (PRIMARY.equals(key)) {
+			Connection connection = source.open(getResolvedDefaultDataSource());
+			String user = currentUser();
+			return user == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? connection
+					: trackWrites(connection, user);
+		}
+		try {
+			return source.open(replicas.get((Integer) key));
+		} catch (SQLFeatureNotSupportedException e) {
+			// e.g. per-call credentials on a pool: the replica is fine, the call is not
+			throw e;
+		} catch (SQLException e) {
+			markDown((Integer) key, e);
+			return getConnection(source);
+		}
+	}
+
+	public void checkReplicas() {
+		for (int i = 0; i < replicas.size(); i++) {
+			boolean up;
+			try (Connection connection = replicas.get(i).getConnection()) {
+				up = connection.isValid(1);
+			} catch (SQLException e) {
+				up = false;
+			}
+			if (up && !healthy.getAndSet(i, Boolean.TRUE)) {
+				logger.info("Replica {} is back, routing reads to it again", i);
+			} else if (!up) {
+				markDown(i, null);
+			}
+		}
+	}
+
+	public int healthyReplicas() {
+		int count = 0;
+		for (int i = 0; i < healthy.length(); i++) {
+			if (healthy.get(i)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void markDown(int replica, SQLException cause) {
+		if (healthy.getAndSet(replica, Boolean.FALSE)) {
+			failovers.increment();
+			logger.warn("Replica {} is unavailable, reading from the remaining replicas or the primary", replica,
+					cause);
+		}
+	}
+
+	private Connection trackWrites(Connection connection, String user) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(proxy, connection, method, args);
+					return result instanceof Statement ? trackWrites((Statement) result, user) : result;
+				});
+	}
+
+	private Statement trackWrites(Statement statement, String user) {
+		Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+				: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Object result = invoke(proxy, statement, method, args);
+					if (isWrite(method.getName(), result)) {
+						markStickyAfterCommit(user);
+					}
+					return result;
+				});
+	}
+
+	private void markStickyAfterCommit(String user) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			// auto-commit: the write is already committed
+			stickyUsers.put(user, Boolean.TRUE);
+			return;
+		}
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof MarkSticky) {
+				return;
+			}
+		}
+		TransactionSynchronizationManager.registerSynchronization(new MarkSticky(user));
+	}
+
+	// execute() answers false for an update count, true for a query
+	private static boolean isWrite(String method, Object result) {
+		return method.startsWith("executeUpdate") || method.startsWith("executeLargeUpdate")
+				|| method.startsWith("executeBatch") || method.startsWith("executeLargeBatch")
+				|| method.equals("execute") && Boolean.FALSE.equals(result);
+	}
+
+	private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+		if (method.getName().equals("equals")) {
+			return proxy == args[0];
+		} else if (method.getName().equals("hashCode")) {
+			return System.identityHashCode(proxy);
+		}
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private class MarkSticky implements TransactionSynchronization {
+
+		private final String user;
+
+		MarkSticky(String user) {
+			this.user = user;
+		}
+
+		@Override
+		public void afterCommit() {
+			stickyUsers.put(user, Boolean.TRUE);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSource {
+
+		Connection open(DataSource target) throws SQLException;
+	}
+
+	private static String currentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+	}
+}
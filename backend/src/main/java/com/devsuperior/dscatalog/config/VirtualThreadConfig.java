@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/*
+ * Opt-in with the "virtual-threads" profile on JDK 21 or later. The project
+ * still compiles for Java 11, so virtual threads are created reflectively.
+ * With a thread per request, concurrency is bounded by the connection pool
+ * instead of Tomcat's worker pool; see application-virtual-threads.properties.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+	private static Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService requestExecutor() {
+		return newVirtualThreadPerTaskExecutor("http-vt-");
+	}
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(
+			ExecutorService requestExecutor) {
+		return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+	}
+
+	@Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor" })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor("task-vt-"));
+	}
+
+	private ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+			ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+			Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			logger.info("Running {}* threads as virtual threads", prefix);
+			return (ExecutorService) newExecutor.invoke(null, factory);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("The virtual-threads profile needs JDK 21 or later, running on "
+					+ Runtime.version(), e);
+		}
+	}
+}
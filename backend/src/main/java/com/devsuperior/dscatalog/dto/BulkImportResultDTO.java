@@ -0,0 +1,116 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResultDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long received;
+	private long inserted;
+	private long rejected;
+	private long elapsedMillis;
+	private double rowsPerSecond;
+
+	private List<Chunk> chunks = new ArrayList<>();
+	private List<ItemError> errors = new ArrayList<>();
+
+	public long getReceived() {
+		return received;
+	}
+
+	public long getInserted() {
+		return inserted;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public List<Chunk> getChunks() {
+		return chunks;
+	}
+
+	public List<ItemError> getErrors() {
+		return errors;
+	}
+
+	public void received() {
+		received++;
+	}
+
+	public void rejected(long index, String message, int maxErrors) {
+		rejected++;
+		if (errors.size() < maxErrors) {
+			errors.add(new ItemError(index, message));
+		}
+	}
+
+	public void chunk(int rows, long elapsedMillis) {
+		inserted += rows;
+		chunks.add(new Chunk(chunks.size() + 1, rows, elapsedMillis));
+	}
+
+	public void finish(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+		this.rowsPerSecond = elapsedMillis == 0 ? inserted : inserted * 1000.0 / elapsedMillis;
+	}
+
+	public static class Chunk implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private int number;
+		private int inserted;
+		private long elapsedMillis;
+
+		public Chunk(int number, int inserted, long elapsedMillis) {
+			this.number = number;
+			this.inserted = inserted;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		public int getNumber() {
+			return number;
+		}
+
+		public int getInserted() {
+			return inserted;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+	}
+
+	public static class ItemError implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private long index;
+		private String message;
+
+		public ItemError(long index, String message) {
+			this.index = index;
+			this.message = message;
+		}
+
+		public long getIndex() {
+			return index;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
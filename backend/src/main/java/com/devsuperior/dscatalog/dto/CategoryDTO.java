@@ -10,6 +10,7 @@ public class CategoryDTO implements Serializable{
 	private static final long serialVersionUID = 1L;
 	private Long id;
 	private String name;
+	private Integer version;
 
 	public CategoryDTO() {
 
@@ -25,6 +26,7 @@ public class CategoryDTO implements Serializable{
 
 		this.id = category.getId();
 		this.name = category.getName();
+		this.version = category.getVersion();
 	}
 	
 	public Long getId() {
@@ -39,6 +41,14 @@ public class CategoryDTO implements Serializable{
 		return name;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public void setName(String name) {
 		this.name = name;
 	}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class ChangeDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long sequence;
+	private String aggregate;
+	private Long aggregateId;
+	private String type;
+	private Instant createdAt;
+
+	public ChangeDTO() {
+	}
+
+	public ChangeDTO(long sequence, String aggregate, Long aggregateId, String type, Instant createdAt) {
+		this.sequence = sequence;
+		this.aggregate = aggregate;
+		this.aggregateId = aggregateId;
+		this.type = type;
+		this.createdAt = createdAt;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public String getAggregate() {
+		return aggregate;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -0,0 +1,25 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ChangeFeedDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<ChangeDTO> changes;
+	private final long next;
+
+	public ChangeFeedDTO(List<ChangeDTO> changes, long since) {
+		this.changes = changes;
+		this.next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+	}
+
+	public List<ChangeDTO> getChanges() {
+		return changes;
+	}
+
+	public long getNext() {
+		return next;
+	}
+}
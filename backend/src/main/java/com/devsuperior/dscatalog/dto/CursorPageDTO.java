@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+public class CursorPageDTO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	private String next;
+
+	public CursorPageDTO() {
+
+	}
+
+	public CursorPageDTO(Slice<T> slice, Function<T, String> cursorOf) {
+
+		this.content = slice.getContent();
+		this.size = slice.getSize();
+		this.hasNext = slice.hasNext();
+		if (hasNext) {
+			this.next = cursorOf.apply(content.get(content.size() - 1));
+		}
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+}
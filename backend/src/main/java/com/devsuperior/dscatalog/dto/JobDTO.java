@@ -0,0 +1,99 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.entities.Job;
+import com.devsuperior.dscatalog.entities.JobStatus;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+public class JobDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String type;
+	private JobStatus status;
+	private String payload;
+	private String checkpoint;
+	private long total;
+	private long processed;
+	private boolean cancelRequested;
+	private String message;
+	private Instant createdAt;
+	private Instant startedAt;
+	private Instant updatedAt;
+	private Instant finishedAt;
+
+	public JobDTO() {
+	}
+
+	public JobDTO(Job job) {
+		id = job.getId();
+		type = job.getType();
+		status = job.getStatus();
+		payload = job.getPayload();
+		checkpoint = job.getCheckpoint();
+		total = job.getTotal();
+		processed = job.getProcessed();
+		cancelRequested = job.isCancelRequested();
+		message = job.getMessage();
+		createdAt = job.getCreatedAt();
+		startedAt = job.getStartedAt();
+		updatedAt = job.getUpdatedAt();
+		finishedAt = job.getFinishedAt();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	@JsonRawValue
+	public String getPayload() {
+		return payload;
+	}
+
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getProcessed() {
+		return processed;
+	}
+
+	public boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+}
@@ -31,6 +31,8 @@ public class ProductDTO implements Serializable {
 	@PastOrPresent(message = "A data não pode ser futura")
 	private Instant date;
 
+	private Integer version;
+
 	private List<CategoryDTO> categories = new ArrayList<>();
 
 	public ProductDTO() {
@@ -55,6 +57,7 @@ public class ProductDTO implements Serializable {
 		this.price = product.getPrice();
 		this.imgUrl = product.getImgUrl();
 		this.date = product.getDate();
+		this.version = product.getVersion();
 	}
 
 	public ProductDTO(Product product, Set<Category> categories) {
@@ -111,6 +114,14 @@ public class ProductDTO implements Serializable {
 		this.date = date;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public List<CategoryDTO> getCategories() {
 		return categories;
 	}
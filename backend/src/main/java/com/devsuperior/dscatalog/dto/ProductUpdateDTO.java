@@ -0,0 +1,54 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.services.events.ChangeType;
+
+public class ProductUpdateDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private ChangeType type;
+	private String name;
+	private Double price;
+	private Integer version;
+	private Instant at;
+
+	public ProductUpdateDTO() {
+	}
+
+	public ProductUpdateDTO(Long id, ChangeType type, String name, Double price, Integer version, Instant at) {
+		this.id = id;
+		this.type = type;
+		this.name = name;
+		this.price = price;
+		this.version = version;
+		this.at = at;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public ChangeType getType() {
+		return type;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+	public Integer getVersion() {
+		return version;
+	}
+
+	public Instant getAt() {
+		return at;
+	}
+}
@@ -0,0 +1,71 @@
+package com.devsuperior.dscatalog.dto;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+public class RepriceDTO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@NotNull(message = "Campo requirido")
+	@DecimalMin(value = "-100", inclusive = false, message = "Percentual deve ser maior que -100")
+	private Double percent;
+
+	private Long categoryId;
+	private String name;
+	private Double minPrice;
+	private Double maxPrice;
+
+	public RepriceDTO() {
+	}
+
+	public RepriceDTO(Double percent, Long categoryId, String name, Double minPrice, Double maxPrice) {
+		this.percent = percent;
+		this.categoryId = categoryId;
+		this.name = name;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+	}
+
+	public Double getPercent() {
+		return percent;
+	}
+
+	public void setPercent(Double percent) {
+		this.percent = percent;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+}
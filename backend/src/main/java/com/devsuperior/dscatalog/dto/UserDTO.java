@@ -22,6 +22,8 @@ public class UserDTO implements Serializable {
 	@Email(message = "Favor entrar um email válido")
 	private String email;
 
+	private Integer version;
+
 	Set<RoleDTO> roles = new HashSet<>();
 	
 	public UserDTO() {
@@ -43,6 +45,7 @@ public class UserDTO implements Serializable {
 		firstName = user.getFirstName();
 		lastName = user.getLastName();
 		email = user.getEmail();
+		version = user.getVersion();
 		user.getRoles().forEach(role -> this.roles.add(new RoleDTO(role)));
 	}
 
@@ -78,6 +81,14 @@ public class UserDTO implements Serializable {
 		this.email = email;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
+	public void setVersion(Integer version) {
+		this.version = version;
+	}
+
 	public Set<RoleDTO> getRoles() {
 		return roles;
 	}
@@ -14,9 +14,14 @@ import javax.persistence.ManyToMany;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "tb_category")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -31,6 +36,10 @@ public class Category implements Serializable {
 
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant updateAt;
+
+	@Version
+	@Column(columnDefinition = "INTEGER DEFAULT 0 NOT NULL")
+	private Integer version;
 	
 	@ManyToMany(mappedBy = "categories" )
 	private Set<Product> products = new HashSet<>();
@@ -69,6 +78,10 @@ public class Category implements Serializable {
 		return updateAt;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	@PrePersist
 	public void prePersist() {
 		createdAt = Instant.now();
@@ -0,0 +1,164 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "tb_job", indexes = @Index(name = "idx_job_status", columnList = "status, id"))
+public class Job implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, length = 50)
+	private String type;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private JobStatus status;
+
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+
+	private String checkpoint;
+	private long total;
+	private long processed;
+	private boolean cancelRequested;
+
+	@Column(columnDefinition = "TEXT")
+	private String message;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant startedAt;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant finishedAt;
+
+	public Job() {
+	}
+
+	public Job(String type, String payload) {
+		this.type = type;
+		this.payload = payload;
+		this.status = JobStatus.QUEUED;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(JobStatus status) {
+		this.status = status;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getProcessed() {
+		return processed;
+	}
+
+	public boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	public void setCancelRequested(boolean cancelRequested) {
+		this.cancelRequested = cancelRequested;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	@PrePersist
+	public void prePersist() {
+		createdAt = Instant.now();
+		updatedAt = createdAt;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Job other = (Job) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+}
@@ -0,0 +1,42 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The single row the outbox relay keeps its position in. tb_outbox is purged,
+ * so its MAX(sequence) can go back to nothing; this row never is.
+ */
+@Entity
+@Table(name = "tb_outbox_cursor")
+public class OutboxCursor implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Long id;
+
+	// last sequence handed out
+	@Column(nullable = false)
+	private Long lastSequence;
+
+	// highest sequence purge has deleted; consumers behind it have missed changes
+	@Column(nullable = false)
+	private Long purgedThrough;
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getLastSequence() {
+		return lastSequence;
+	}
+
+	public Long getPurgedThrough() {
+		return purgedThrough;
+	}
+}
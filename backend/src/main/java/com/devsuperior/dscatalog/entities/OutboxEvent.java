@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "tb_outbox")
+public class OutboxEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(unique = true)
+	private Long sequence;
+
+	@Column(nullable = false, length = 20)
+	private String aggregate;
+
+	@Column(nullable = false)
+	private Long aggregateId;
+
+	@Column(nullable = false, length = 10)
+	private String type;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getSequence() {
+		return sequence;
+	}
+
+	public String getAggregate() {
+		return aggregate;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -10,13 +10,20 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "tb_product")
+@DynamicUpdate
+@Table(name = "tb_product", indexes = @Index(name = "idx_product_name_id", columnList = "name, id"))
 public class Product implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -33,8 +40,13 @@ public class Product implements Serializable {
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant date;
 
+	@Version
+	@Column(columnDefinition = "INTEGER DEFAULT 0 NOT NULL")
+	private Integer version;
+
 	@ManyToMany
-	@JoinTable(name = "tb_product_category", joinColumns = @JoinColumn(name = "product_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@JoinTable(name = "tb_product_category", joinColumns = @JoinColumn(name = "product_id"), inverseJoinColumns = @JoinColumn(name = "category_id"), indexes = @Index(name = "idx_product_category_category", columnList = "category_id, product_id"))
 	Set<Category> categories = new HashSet<>();
 
 	public Product() {
@@ -51,6 +63,10 @@ public class Product implements Serializable {
 		this.date = date;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -16,12 +16,18 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.security.core.GrantedAuthority;import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
+@DynamicUpdate
 @Table(name = "tb_user")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User implements UserDetails, Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -35,8 +41,13 @@ public class User implements UserDetails, Serializable {
 	@Column(unique = true)
 	private String email;
 	private String password;
+
+	@Version
+	@Column(columnDefinition = "INTEGER DEFAULT 0 NOT NULL")
+	private Integer version;
 	
 	@ManyToMany(fetch = FetchType.EAGER)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@JoinTable(name = "tb_user_role", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
 	private Set<Role> roles = new HashSet<>();
 
@@ -118,6 +129,10 @@ public class User implements UserDetails, Serializable {
 		return true;
 	}
 
+	public Integer getVersion() {
+		return version;
+	}
+
 	public Set<Role> getRoles() {
 		return roles;
 	}
@@ -1,6 +1,9 @@
 package com.devsuperior.dscatalog.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.devsuperior.dscatalog.entities.Category;
@@ -8,4 +11,6 @@ import com.devsuperior.dscatalog.entities.Category;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long>{
 
+	@Query("SELECT obj FROM Category obj")
+	Slice<Category> findAllSliced(Pageable pageable);
 }
@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.entities.Job;
+import com.devsuperior.dscatalog.entities.JobStatus;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+	/*
+	 * Job state drives the workers (claims, checkpoints, cancel requests), so the
+	 * reads below run in read-write transactions: with replica routing enabled a
+	 * read-only one could see a stale status or checkpoint.
+	 */
+	@Override
+	@Transactional
+	Optional<Job> findById(Long id);
+
+	@Transactional
+	@Query("SELECT obj.id FROM Job obj WHERE obj.status = :status ORDER BY obj.id")
+	List<Long> findIdsByStatus(JobStatus status, Pageable pageable);
+
+	@Transactional
+	@Query("SELECT obj.cancelRequested FROM Job obj WHERE obj.id = :id")
+	boolean isCancelRequested(Long id);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.status = :to, obj.updatedAt = :now WHERE obj.id = :id AND obj.status = :from")
+	int transition(Long id, JobStatus from, JobStatus to, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.status = com.devsuperior.dscatalog.entities.JobStatus.RUNNING, "
+			+ "obj.startedAt = :now, obj.updatedAt = :now "
+			+ "WHERE obj.id = :id AND obj.status = com.devsuperior.dscatalog.entities.JobStatus.QUEUED")
+	int claim(Long id, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.total = :total, obj.updatedAt = :now WHERE obj.id = :id")
+	int updateTotal(Long id, long total, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.checkpoint = :checkpoint, obj.processed = obj.processed + :processed, "
+			+ "obj.updatedAt = :now WHERE obj.id = :id")
+	int checkpoint(Long id, String checkpoint, long processed, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.status = :status, obj.message = :message, obj.finishedAt = :now, "
+			+ "obj.updatedAt = :now "
+			+ "WHERE obj.id = :id AND obj.status = com.devsuperior.dscatalog.entities.JobStatus.RUNNING")
+	int finish(Long id, JobStatus status, String message, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.cancelRequested = true, obj.updatedAt = :now WHERE obj.id = :id")
+	int requestCancel(Long id, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Job obj SET obj.status = com.devsuperior.dscatalog.entities.JobStatus.QUEUED, "
+			+ "obj.cancelRequested = false, obj.message = null, obj.finishedAt = null, obj.updatedAt = :now "
+			+ "WHERE obj.id = :id AND obj.status IN :from")
+	int requeue(Long id, List<JobStatus> from, Instant now);
+}
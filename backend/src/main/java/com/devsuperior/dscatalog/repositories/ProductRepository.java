@@ -1,6 +1,12 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.devsuperior.dscatalog.entities.Product;
@@ -8,4 +14,55 @@ import com.devsuperior.dscatalog.entities.Product;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+	@Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj IN :products")
+	List<Product> findProductsWithCategories(List<Product> products);
+
+	@Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+	List<Product> findWithCategoriesByIdIn(List<Long> ids);
+
+	@Query("SELECT obj.id FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId AND obj.id > :after "
+			+ "ORDER BY obj.id")
+	List<Long> findIdsByCategoryIdAfter(Long categoryId, Long after, Pageable pageable);
+
+	@Query("SELECT obj.id, obj.name, obj.price, obj.version FROM Product obj WHERE obj.id IN :ids")
+	List<Object[]> findPricesByIds(Collection<Long> ids);
+
+	@Query("SELECT cat.id FROM Product obj JOIN obj.categories cat WHERE obj.id = :id")
+	List<Long> findCategoryIdsById(Long id);
+
+	@Query(nativeQuery = true, value = "SELECT pc.category_id, COUNT(*) FROM tb_product_category pc GROUP BY pc.category_id")
+	List<Object[]> countPerCategory();
+
+	@Query(nativeQuery = true, value = "SELECT pc.category_id, COUNT(*) FROM tb_product_category pc "
+			+ "JOIN tb_product p ON p.id = pc.product_id "
+			+ "WHERE LOWER(p.name) LIKE :namePrefix ESCAPE '\\' AND p.price BETWEEN :minPrice AND :maxPrice "
+			+ "GROUP BY pc.category_id")
+	List<Object[]> countPerCategory(String namePrefix, double minPrice, double maxPrice);
+
+	@Query("SELECT obj FROM Product obj")
+	Slice<Product> findAllSliced(Pageable pageable);
+
+	@Query("SELECT obj.id FROM Product obj WHERE LOWER(obj.name) LIKE :namePrefix ESCAPE '\\'")
+	Slice<Long> findIdsByName(String namePrefix, Pageable pageable);
+
+	@Query("SELECT COUNT(obj) FROM Product obj WHERE LOWER(obj.name) LIKE :namePrefix ESCAPE '\\'")
+	long countByName(String namePrefix);
+
+	@Query("SELECT obj.id FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId")
+	Slice<Long> findIdsByCategory(Long categoryId, Pageable pageable);
+
+	@Query("SELECT COUNT(obj) FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId")
+	long countByCategory(Long categoryId);
+
+	@Query("SELECT obj.id FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId AND LOWER(obj.name) LIKE :namePrefix ESCAPE '\\'")
+	Slice<Long> findIdsByCategoryAndName(Long categoryId, String namePrefix, Pageable pageable);
+
+	@Query("SELECT COUNT(obj) FROM Product obj JOIN obj.categories cat WHERE cat.id = :categoryId AND LOWER(obj.name) LIKE :namePrefix ESCAPE '\\'")
+	long countByCategoryAndName(Long categoryId, String namePrefix);
+
+	@Query("SELECT obj FROM Product obj ORDER BY obj.name, obj.id")
+	Slice<Product> findFirstKeysetPage(Pageable pageable);
+
+	@Query("SELECT obj FROM Product obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) ORDER BY obj.name, obj.id")
+	Slice<Product> findKeysetPageAfter(String name, Long id, Pageable pageable);
 }
@@ -1,6 +1,12 @@
 package com.devsuperior.dscatalog.repositories;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.devsuperior.dscatalog.entities.User;
@@ -8,5 +14,15 @@ import com.devsuperior.dscatalog.entities.User;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	User findByEmail(String email);
+
+	@Query("SELECT obj FROM User obj")
+	Slice<User> findAllSliced(Pageable pageable);
+
+	@Query("SELECT obj FROM User obj ORDER BY obj.email, obj.id")
+	Slice<User> findFirstKeysetPage(Pageable pageable);
+
+	@Query("SELECT obj FROM User obj WHERE obj.email > :email OR (obj.email = :email AND obj.id > :id) ORDER BY obj.email, obj.id")
+	Slice<User> findKeysetPageAfter(String email, Long id, Pageable pageable);
 }
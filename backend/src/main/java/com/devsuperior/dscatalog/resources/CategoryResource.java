@@ -1,10 +1,15 @@
 package com.devsuperior.dscatalog.resources;
 
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +18,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.dto.RepriceDTO;
 import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductRepriceService;
+import com.devsuperior.dscatalog.services.async.ReadExecutor;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -26,17 +40,60 @@ public class CategoryResource {
 	@Autowired
 	private CategoryService service;
 
+	@Autowired
+	private ProductRepriceService repriceService;
+
+	@Autowired
+	private ReadExecutor readExecutor;
+
 	@GetMapping
-	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
-		Page<CategoryDTO> categories = service.findAllPaged(pageable);
+	public CompletableFuture<ResponseEntity<Slice<CategoryDTO>>> findAll(Pageable pageable,
+			@RequestParam(value = "count", defaultValue = "true") String count, WebRequest request) {
+		if (request.checkNotModified(service.findETag(), service.findLastModified().toEpochMilli())) {
+			return CompletableFuture.completedFuture(null);
+		}
+		CountMode countMode = CountMode.fromParam(count);
+		return readExecutor.submit(() -> {
+			Slice<CategoryDTO> categories = service.findAllPaged(pageable, countMode);
+			return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categories);
+		});
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPageDTO<CategoryDTO>> findAllAfter(@RequestParam("after") String after, Pageable pageable) {
+		CursorPageDTO<CategoryDTO> categories = service.findAllAfter(after, pageable.getPageSize());
 		return ResponseEntity.ok().body(categories);
 	}
 
+	@GetMapping(value = "/facets")
+	public CompletableFuture<ResponseEntity<List<CategoryFacetDTO>>> findFacets(
+			@RequestParam(value = "name", defaultValue = "") String name,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice) {
+
+		return readExecutor.submit(() -> {
+			List<CategoryFacetDTO> facets = service.findFacets(name.trim(), minPrice, maxPrice);
+			return ResponseEntity.ok().body(facets);
+		});
+	}
+
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, WebRequest request) {
 		CategoryDTO categoryDTO = service.findById(id);
-		
-		return ResponseEntity.ok().body(categoryDTO);
+		if (request.checkNotModified(String.valueOf(categoryDTO.getVersion()))) {
+			return null;
+		}
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoryDTO);
+	}
+
+	@PostMapping(value = "/{id}/reprice")
+	public ResponseEntity<JobDTO> reprice(@PathVariable Long id, @Valid @RequestBody RepriceDTO repriceDTO) {
+		repriceDTO.setCategoryId(id);
+		JobDTO job = repriceService.submit(repriceDTO);
+
+		URI uri = ServletUriComponentsBuilder.fromCurrentContextPath().path("/jobs/{id}").buildAndExpand(job.getId())
+				.toUri();
+		return ResponseEntity.accepted().location(uri).body(job);
 	}
 
 	@PostMapping
@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.resources;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.services.exceptions.ResourceGoneException;
+import com.devsuperior.dscatalog.services.outbox.ChangeService;
+
+@RestController
+@RequestMapping(value = "/changes")
+public class ChangeResource {
+
+	@Autowired
+	private ChangeService service;
+
+	@GetMapping
+	public DeferredResult<ChangeFeedDTO> poll(@RequestParam(value = "since", defaultValue = "0") Long since,
+			@RequestParam(value = "limit", defaultValue = "100") Integer limit,
+			@RequestParam(value = "timeout", defaultValue = "30") Integer timeout) {
+		return service.poll(since, limit, Duration.ofSeconds(timeout));
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> stream(@RequestParam(value = "since", required = false) Long since,
+			@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		try {
+			return ResponseEntity.ok(service.stream(lastEventId != null ? lastEventId : since != null ? since : 0L));
+		} catch (ResourceGoneException e) {
+			// the client only accepts text/event-stream, so the error body can't be written; the status is the signal
+			return ResponseEntity.status(HttpStatus.GONE).build();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.services.JobService;
+
+@RestController
+@RequestMapping(value = "/jobs")
+public class JobResource {
+
+	@Autowired
+	private JobService service;
+
+	@GetMapping
+	public ResponseEntity<Page<JobDTO>> findAll(Pageable pageable) {
+		Page<JobDTO> jobs = service.findAllPaged(pageable);
+		return ResponseEntity.ok().body(jobs);
+	}
+
+	@GetMapping(value = "/{id}")
+	public ResponseEntity<JobDTO> findById(@PathVariable Long id) {
+		JobDTO job = service.findById(id);
+		return ResponseEntity.ok().body(job);
+	}
+
+	@PostMapping(value = "/{id}/cancel")
+	public ResponseEntity<JobDTO> cancel(@PathVariable Long id) {
+		JobDTO job = service.cancel(id);
+		return ResponseEntity.ok().body(job);
+	}
+
+	@PostMapping(value = "/{id}/resume")
+	public ResponseEntity<JobDTO> resume(@PathVariable Long id) {
+		JobDTO job = service.resume(id);
+		return ResponseEntity.accepted().body(job);
+	}
+}
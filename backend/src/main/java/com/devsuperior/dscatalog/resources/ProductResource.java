@@ -1,25 +1,54 @@
 package com.devsuperior.dscatalog.resources;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.BulkImportResultDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
+import com.devsuperior.dscatalog.dto.JobDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.RepriceDTO;
+import com.devsuperior.dscatalog.services.JobService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImportService;
+import com.devsuperior.dscatalog.services.ProductRepriceService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.ProductStreamService;
+import com.devsuperior.dscatalog.services.async.ReadExecutor;
+import com.devsuperior.dscatalog.services.export.ExportFormat;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -28,18 +57,107 @@ public class ProductResource {
 	@Autowired
 	private ProductService service;
 
+	@Autowired
+	private ProductImportService importService;
+
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private ProductSearchIndex searchIndex;
+
+	@Autowired
+	private ProductRepriceService repriceService;
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private ProductStreamService streamService;
+
+	@Autowired
+	private ReadExecutor readExecutor;
+
+	@Value("${app.products.bulk.chunk-size}")
+	private int defaultChunkSize;
+
+	@Value("${app.products.bulk.commit-interval}")
+	private int defaultCommitInterval;
+
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAll(Pageable pageable) {
+	public CompletableFuture<ResponseEntity<Slice<ProductDTO>>> findAll(Pageable pageable,
+			@RequestParam(value = "categoryId", required = false) Long categoryId,
+			@RequestParam(value = "name", defaultValue = "") String name,
+			@RequestParam(value = "withCategories", defaultValue = "false") boolean withCategories,
+			@RequestParam(value = "count", defaultValue = "true") String count) {
 
-	
-		Page<ProductDTO> products = service.findAllPaged(pageable);
+		CountMode countMode = CountMode.fromParam(count);
+		return readExecutor.submit(() -> {
+			Slice<ProductDTO> products = service.findAllPaged(categoryId, name.trim(), pageable, countMode,
+					withCategories);
+			return ResponseEntity.ok().eTag(service.eTag(products)).cacheControl(CacheControl.noCache()).body(products);
+		});
+	}
+
+	@GetMapping(params = "after")
+	public CompletableFuture<ResponseEntity<CursorPageDTO<ProductDTO>>> findAllAfter(@RequestParam("after") String after,
+			Pageable pageable) {
+		return readExecutor.submit(() -> {
+			CursorPageDTO<ProductDTO> products = service.findAllAfter(after, pageable.getPageSize());
+			return ResponseEntity.ok().body(products);
+		});
+	}
+
+	@GetMapping(value = "/search")
+	public ResponseEntity<Page<ProductDTO>> search(@RequestParam("q") String q, Pageable pageable) {
+		Page<ProductDTO> products = searchIndex.search(q, pageable);
 		return ResponseEntity.ok().body(products);
 	}
 
+	@PostMapping(value = "/search/rebuild")
+	public ResponseEntity<JobDTO> rebuildSearchIndex() {
+		JobDTO job = jobService.submit(ProductSearchIndex.JOB_TYPE, Collections.emptyMap());
+
+		URI uri = ServletUriComponentsBuilder.fromCurrentContextPath().path("/jobs/{id}").buildAndExpand(job.getId())
+				.toUri();
+		return ResponseEntity.accepted().location(uri).body(job);
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter stream(@RequestParam("ids") List<Long> ids) {
+		return streamService.subscribe(ids);
+	}
+
+	@GetMapping(value = "/export")
+	public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+			HttpServletResponse response) throws IOException {
+
+		ExportFormat exportFormat = ExportFormat.fromParam(format);
+		response.setContentType(exportFormat.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"products." + exportFormat.getExtension() + "\"");
+		exportService.export(exportFormat, response.getOutputStream());
+	}
+
+	@PostMapping(value = "/reprice")
+	public ResponseEntity<JobDTO> reprice(@Valid @RequestBody RepriceDTO repriceDTO) {
+		JobDTO job = repriceService.submit(repriceDTO);
+
+		URI uri = ServletUriComponentsBuilder.fromCurrentContextPath().path("/jobs/{id}").buildAndExpand(job.getId())
+				.toUri();
+		return ResponseEntity.accepted().location(uri).body(job);
+	}
+
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-		ProductDTO productDTO = service.findById(id);
-		return ResponseEntity.ok().body(productDTO);
+	public CompletableFuture<ResponseEntity<ProductDTO>> findById(@PathVariable Long id, WebRequest request) {
+		return readExecutor.submit(() -> {
+			ProductDTO productDTO = service.findById(id);
+			if (request.checkNotModified(service.eTag(productDTO))) {
+				return null;
+			}
+			return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(productDTO);
+		});
 	}
 
 	@PostMapping
@@ -51,12 +169,29 @@ public class ProductResource {
 		return ResponseEntity.created(uri).body(productDTO);
 	}
 
+	@PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<BulkImportResultDTO> bulkInsert(HttpServletRequest request,
+			@RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+			@RequestParam(value = "commitInterval", required = false) Integer commitInterval) throws IOException {
+
+		BulkImportResultDTO result = importService.importProducts(request.getInputStream(),
+				chunkSize != null ? chunkSize : defaultChunkSize,
+				commitInterval != null ? commitInterval : defaultCommitInterval);
+		return ResponseEntity.ok().body(result);
+	}
+
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
 		productDTO = service.update(id, productDTO);
 		return ResponseEntity.ok().body(productDTO);
 	}
 	
+	@PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<ProductDTO> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+		ProductDTO productDTO = service.patch(id, patch);
+		return ResponseEntity.ok().body(productDTO);
+	}
+
 	@DeleteMapping(value = "/{id}")
 	public ResponseEntity<Void>delete(@PathVariable Long id){
 		service.delete(id);
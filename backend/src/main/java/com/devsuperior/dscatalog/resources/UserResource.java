@@ -5,23 +5,29 @@ import java.net.URI;
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.UserDTO;
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
 import com.devsuperior.dscatalog.dto.UserUpdateDTO;
 import com.devsuperior.dscatalog.services.UserService;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @RestController
 @RequestMapping(value = "/users")
@@ -31,9 +37,16 @@ public class UserResource {
 	private UserService service;
 
 	@GetMapping
-	public ResponseEntity<Page<UserDTO>> findAll(Pageable pageable) {
+	public ResponseEntity<Slice<UserDTO>> findAll(Pageable pageable,
+			@RequestParam(value = "count", defaultValue = "true") String count) {
 
-		Page<UserDTO> users = service.findAllPaged(pageable);
+		Slice<UserDTO> users = service.findAllPaged(pageable, CountMode.fromParam(count));
+		return ResponseEntity.ok().body(users);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPageDTO<UserDTO>> findAllAfter(@RequestParam("after") String after, Pageable pageable) {
+		CursorPageDTO<UserDTO> users = service.findAllAfter(after, pageable.getPageSize());
 		return ResponseEntity.ok().body(users);
 	}
 
@@ -58,6 +71,12 @@ public class UserResource {
 		return ResponseEntity.ok().body(newDTO);
 	}
 
+	@PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<UserDTO> patch(@PathVariable Long id, @RequestBody ObjectNode patch) {
+		UserDTO newDTO = service.patch(id, patch);
+		return ResponseEntity.ok().body(newDTO);
+	}
+
 	@DeleteMapping(value = "/{id}")
 	public ResponseEntity<Void> delete(@PathVariable Long id) {
 		service.delete(id);
@@ -4,6 +4,8 @@ import java.time.Instant;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,7 +14,11 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.FieldValidationException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.exceptions.ResourceGoneException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
@@ -31,6 +37,19 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(err);
 	}
 
+	@ExceptionHandler(ResourceGoneException.class)
+	public ResponseEntity<StandardError> gone(ResourceGoneException resourceGoneException, HttpServletRequest request) {
+
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(HttpStatus.GONE.value());
+		err.setError("Resource gone");
+		err.setMessage(resourceGoneException.getMessage());
+		err.setPath(request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.GONE).body(err);
+	}
+
 	@ExceptionHandler(DatabaseException.class)
 	public ResponseEntity<StandardError> database(DatabaseException databaseException, HttpServletRequest request) {
 
@@ -44,6 +63,48 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> conflict(OptimisticLockingFailureException optimisticLockingFailureException,
+			HttpServletRequest request) {
+
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(HttpStatus.CONFLICT.value());
+		err.setError("Conflict");
+		err.setMessage("Resource was modified concurrently, reload and retry");
+		err.setPath(request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+	}
+
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<StandardError> invalidRequest(InvalidRequestException invalidRequestException,
+			HttpServletRequest request) {
+
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(HttpStatus.BAD_REQUEST.value());
+		err.setError("Invalid request");
+		err.setMessage(invalidRequestException.getMessage());
+		err.setPath(request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+	}
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<StandardError> unavailable(ServiceUnavailableException serviceUnavailableException,
+			HttpServletRequest request) {
+
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		err.setError("Service unavailable");
+		err.setMessage(serviceUnavailableException.getMessage());
+		err.setPath(request.getRequestURI());
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ValidationError> validation(MethodArgumentNotValidException methodArgumentNotValidException,
 			HttpServletRequest request) {
@@ -60,4 +121,19 @@ public class ResourceExceptionHandler {
 		}
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
 	}
+
+	@ExceptionHandler(FieldValidationException.class)
+	public ResponseEntity<ValidationError> validation(FieldValidationException fieldValidationException,
+			HttpServletRequest request) {
+
+		ValidationError err = new ValidationError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+		err.setError("Validation exception");
+		err.setMessage(fieldValidationException.getMessage());
+		err.setPath(request.getRequestURI());
+
+		fieldValidationException.getErrors().forEach((field, messages) -> messages.forEach(m -> err.addError(field, m)));
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+	}
 }
@@ -1,22 +1,43 @@
 package com.devsuperior.dscatalog.services;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.cache.CategoryFacetCounters;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
 
 @Service
 public class CategoryService {
@@ -24,18 +45,81 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository repository;
 
-	@Transactional(readOnly = true)
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Autowired
+	private CategorySnapshot categorySnapshot;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryFacetCounters facetCounters;
+
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
+		if (CategorySnapshot.supports(pageable.getSort())) {
+			return categorySnapshot.findAll(pageable);
+		}
 		Page<Category> categoriesDTO = repository.findAll(pageable);
 		return categoriesDTO.map(x -> new CategoryDTO(x));
 	}
 
-	@Transactional(readOnly = true)
+	public Slice<CategoryDTO> findAllPaged(Pageable pageable, CountMode countMode) {
+		if (countMode == CountMode.EXACT || CategorySnapshot.supports(pageable.getSort())) {
+			return findAllPaged(pageable);
+		}
+		Slice<CategoryDTO> slice = repository.findAllSliced(pageable).map(x -> new CategoryDTO(x));
+		if (countMode == CountMode.APPROXIMATE) {
+			return new PageImpl<>(slice.getContent(), pageable, tableCounters.count(Category.class));
+		}
+		return slice;
+	}
+
+	public String findETag() {
+		return String.valueOf(categorySnapshot.getGeneration());
+	}
+
+	public Instant findLastModified() {
+		return categorySnapshot.getLastModified();
+	}
+
+	public List<CategoryFacetDTO> findFacets(String name, Double minPrice, Double maxPrice) {
+		Map<Long, Long> counts;
+		if (name.isEmpty() && minPrice == null && maxPrice == null) {
+			counts = facetCounters.counts();
+		} else {
+			counts = CategoryFacetCounters.toMap(productRepository.countPerCategory(ServiceUtils.likePrefix(name),
+					minPrice != null ? minPrice : -Double.MAX_VALUE, maxPrice != null ? maxPrice : Double.MAX_VALUE));
+		}
+		return categorySnapshot.findAll(Pageable.unpaged()).stream()
+				.map(x -> new CategoryFacetDTO(x.getId(), x.getName(), counts.getOrDefault(x.getId(), 0L)))
+				.sorted(Comparator.comparingLong(CategoryFacetDTO::getCount).reversed())
+				.collect(Collectors.toList());
+	}
+
+	public CursorPageDTO<CategoryDTO> findAllAfter(String after, int size) {
+		List<CategoryDTO> list;
+		if (after.isEmpty()) {
+			list = categorySnapshot.findFirst(size + 1);
+		} else {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			list = categorySnapshot.findAfter(cursor.getKey(), cursor.getId(), size + 1);
+		}
+		boolean hasNext = list.size() > size;
+		Slice<CategoryDTO> slice = new SliceImpl<>(hasNext ? list.subList(0, size) : list, PageRequest.of(0, size),
+				hasNext);
+		return new CursorPageDTO<>(slice, x -> new KeysetCursor(x.getName(), x.getId()).encode());
+	}
+
 	public CategoryDTO findById(Long id) {
-		Optional<Category> optional = repository.findById(id);
-		Category entity = optional.orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada: " + id));
-		return new CategoryDTO(entity);
+		Optional<CategoryDTO> optional = categorySnapshot.get(id);
+		return optional.orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada: " + id));
 	}
+
 	@Transactional
 	public CategoryDTO insert(CategoryDTO categoryDTO) {
 
@@ -43,15 +127,20 @@ public class CategoryService {
 
 		category.setName(categoryDTO.getName());
 		category = repository.save(category);
+		tableCounters.increment(Category.class);
+		eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), ChangeType.CREATED));
 		return new CategoryDTO(category);
 	}
 	
+	@CacheEvict(cacheNames = "products", allEntries = true)
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO categoryDTO) {
 		try {
 			Category category = repository.getOne(id);
+			ServiceUtils.checkVersion(categoryDTO.getVersion(), category.getVersion(), Category.class, id);
 			category.setName(categoryDTO.getName());
-			category = repository.save(category);
+			category = repository.saveAndFlush(category);
+			eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.UPDATED));
 			return new CategoryDTO(category);
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
@@ -59,9 +148,13 @@ public class CategoryService {
 
 	}
 
+	@Transactional
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			repository.flush();
+			tableCounters.decrement(Category.class);
+			eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.DELETED));
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -0,0 +1,183 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.entities.Job;
+import com.devsuperior.dscatalog.entities.JobStatus;
+import com.devsuperior.dscatalog.repositories.JobRepository;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.jobs.JobContext;
+import com.devsuperior.dscatalog.services.jobs.JobHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Service
+public class JobService {
+
+	private static Logger logger = LoggerFactory.getLogger(JobService.class);
+
+	@Autowired
+	private JobRepository repository;
+
+	@Autowired
+	private ObjectProvider<JobHandler> handlers;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.jobs.threads}")
+	private int threads;
+
+	@Value("${app.jobs.queue-capacity}")
+	private int queueCapacity;
+
+	private ThreadPoolExecutor executor;
+
+	private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("job-"));
+		ExecutorServiceMetrics.monitor(meterRegistry, executor, "jobs");
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// not read-only: job state is read on the primary, see JobRepository
+	@Transactional
+	public Page<JobDTO> findAllPaged(Pageable pageable) {
+		return repository.findAll(pageable).map(JobDTO::new);
+	}
+
+	@Transactional
+	public JobDTO findById(Long id) {
+		Job job = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Job not found: " + id));
+		return new JobDTO(job);
+	}
+
+	public JobDTO submit(String type, Object payload) {
+		handler(type);
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new InvalidRequestException("Invalid payload for job " + type + ": " + e.getOriginalMessage());
+		}
+		Job job = repository.save(new Job(type, json));
+		dispatch(job.getId());
+		return new JobDTO(job);
+	}
+
+	public JobDTO cancel(Long id) {
+		JobDTO job = findById(id);
+		if (job.getStatus().isFinished()) {
+			throw new InvalidRequestException("Job " + id + " is already " + job.getStatus());
+		}
+		if (repository.transition(id, JobStatus.QUEUED, JobStatus.CANCELLED, Instant.now()) == 0) {
+			repository.requestCancel(id, Instant.now());
+		}
+		return findById(id);
+	}
+
+	public JobDTO resume(Long id) {
+		findById(id);
+		if (repository.requeue(id, List.of(JobStatus.FAILED, JobStatus.CANCELLED), Instant.now()) == 0) {
+			throw new InvalidRequestException("Only failed or cancelled jobs can be resumed: " + id);
+		}
+		dispatch(id);
+		return findById(id);
+	}
+
+	@Scheduled(fixedDelayString = "${app.jobs.poll-interval}")
+	public void poll() {
+		int free = queueCapacity - executor.getQueue().size();
+		if (free <= 0) {
+			return;
+		}
+		repository.findIdsByStatus(JobStatus.QUEUED, PageRequest.of(0, free)).forEach(this::dispatch);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void recover() {
+		for (Long id : repository.findIdsByStatus(JobStatus.RUNNING, Pageable.unpaged())) {
+			if (repository.transition(id, JobStatus.RUNNING, JobStatus.QUEUED, Instant.now()) > 0) {
+				logger.warn("Job {} was interrupted by a restart, resuming from its last checkpoint", id);
+			}
+		}
+		poll();
+	}
+
+	private void dispatch(Long id) {
+		if (!inFlight.add(id)) {
+			return;
+		}
+		try {
+			executor.execute(() -> run(id));
+		} catch (RejectedExecutionException e) {
+			inFlight.remove(id);
+			logger.debug("Job queue is full, job {} stays queued", id);
+		}
+	}
+
+	private void run(Long id) {
+		try {
+			if (repository.claim(id, Instant.now()) == 0) {
+				return;
+			}
+			Job job = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Job not found: " + id));
+			JobContext context = new JobContext(id, job.getPayload(), job.getCheckpoint(), repository, objectMapper);
+			long start = System.currentTimeMillis();
+			handler(job.getType()).execute(context);
+			JobStatus status = context.isCancelled() ? JobStatus.CANCELLED : JobStatus.COMPLETED;
+			repository.finish(id, status, null, Instant.now());
+			logger.info("Job {} ({}) {} in {} ms", id, job.getType(), status, System.currentTimeMillis() - start);
+		} catch (RuntimeException e) {
+			logger.error("Job {} failed", id, e);
+			repository.finish(id, JobStatus.FAILED, e.getMessage(), Instant.now());
+		} finally {
+			inFlight.remove(id);
+		}
+	}
+
+	private JobHandler handler(String type) {
+		return handlers.stream().filter(x -> x.getType().equals(type)).findFirst()
+				.orElseThrow(() -> new InvalidRequestException("Unknown job type: " + type));
+	}
+}
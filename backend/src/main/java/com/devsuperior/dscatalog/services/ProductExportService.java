@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.export.ExportFormat;
+import com.devsuperior.dscatalog.services.export.ProductExportWriter;
+import com.devsuperior.dscatalog.services.export.ProductSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class ProductExportService {
+
+	private static final String SCAN_QUERY = "SELECT p.id, p.name, p.description, p.price, p.imgUrl, p.date, c.id, c.name "
+			+ "FROM Product p LEFT JOIN p.categories c ORDER BY p.id";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${app.products.export.fetch-size}")
+	private int fetchSize;
+
+	@Transactional(readOnly = true)
+	public long export(ExportFormat format, OutputStream out) throws IOException {
+		try (ProductExportWriter writer = format.open(out, objectMapper)) {
+			return scan(writer::write);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public long scan(ProductSink sink) throws IOException {
+		Session session = entityManager.unwrap(Session.class);
+		long scanned = 0;
+		try (ScrollableResults rows = session.createQuery(SCAN_QUERY).setFetchSize(fetchSize).setReadOnly(true)
+				.scroll(ScrollMode.FORWARD_ONLY)) {
+
+			ProductDTO current = null;
+			while (rows.next()) {
+				Object[] row = rows.get();
+				Long id = (Long) row[0];
+				if (current == null || !current.getId().equals(id)) {
+					if (current != null) {
+						sink.accept(current);
+						scanned++;
+					}
+					current = new ProductDTO(id, (String) row[1], (String) row[2], (Double) row[3], (String) row[4],
+							(Instant) row[5]);
+				}
+				if (row[6] != null) {
+					current.getCategories().add(new CategoryDTO((Long) row[6], (String) row[7]));
+				}
+			}
+			if (current != null) {
+				sink.accept(current);
+				scanned++;
+			}
+		}
+		return scanned;
+	}
+}
@@ -0,0 +1,191 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.BulkImportResultDTO;
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.services.cache.CategoryFacetCounters;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class ProductImportService {
+
+	private static final String INSERT_PRODUCT = "INSERT INTO tb_product (name, description, price, img_url, date) VALUES (?, ?, ?, ?, ?)";
+	private static final String INSERT_PRODUCT_CATEGORY = "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CategorySnapshot categorySnapshot;
+
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Autowired
+	private CategoryFacetCounters facetCounters;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Value("${app.products.bulk.max-errors}")
+	private int maxErrors;
+
+	public BulkImportResultDTO importProducts(InputStream input, int chunkSize, int commitInterval) {
+		if (chunkSize < 1 || commitInterval < 1) {
+			throw new InvalidRequestException("chunkSize and commitInterval must be positive");
+		}
+		long start = System.currentTimeMillis();
+		BulkImportResultDTO result = new BulkImportResultDTO();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<ProductDTO> pending = new ArrayList<>(chunkSize * commitInterval);
+
+		long index = 0;
+		try (MappingIterator<ProductDTO> items = objectMapper.readerFor(ProductDTO.class).readValues(input)) {
+			while (items.hasNextValue()) {
+				ProductDTO dto = items.nextValue();
+				result.received();
+				String error = validate(dto);
+				if (error != null) {
+					result.rejected(index, error, maxErrors);
+				} else {
+					pending.add(dto);
+					if (pending.size() == chunkSize * commitInterval) {
+						commit(transaction, pending, chunkSize, result);
+					}
+				}
+				index++;
+			}
+		} catch (IOException e) {
+			throw new InvalidRequestException("Malformed input at item " + index + " (" + result.getInserted()
+					+ " items already imported): " + e.getMessage());
+		}
+		commit(transaction, pending, chunkSize, result);
+
+		result.finish(System.currentTimeMillis() - start);
+		return result;
+	}
+
+	private String validate(ProductDTO dto) {
+		String violations = ServiceUtils.violations(validator, dto);
+		if (violations != null) {
+			return violations;
+		}
+		if (dto.getCategories() != null) {
+			for (CategoryDTO category : dto.getCategories()) {
+				if (category.getId() == null || !categorySnapshot.contains(category.getId())) {
+					return "Categoria não encontrada: " + category.getId();
+				}
+			}
+		}
+		return null;
+	}
+
+	private void commit(TransactionTemplate transaction, List<ProductDTO> pending, int chunkSize,
+			BulkImportResultDTO result) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		// chunks are only reported once their transaction commits; a rollback discards the whole group
+		List<Runnable> committed = new ArrayList<>();
+		try {
+			transaction.executeWithoutResult(status -> {
+				for (int from = 0; from < pending.size(); from += chunkSize) {
+					long chunkStart = System.currentTimeMillis();
+					List<ProductDTO> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+					insertChunk(chunk);
+					int rows = chunk.size();
+					long elapsed = System.currentTimeMillis() - chunkStart;
+					committed.add(() -> result.chunk(rows, elapsed));
+				}
+			});
+		} catch (DataIntegrityViolationException e) {
+			throw new DatabaseException(
+					"Integrity violation (" + result.getInserted() + " items already imported)");
+		}
+		committed.forEach(Runnable::run);
+		tableCounters.add(Product.class, pending.size());
+		pending.forEach(dto -> facetCounters.add(categoryIds(dto), 1L));
+		pending.clear();
+	}
+
+	private void insertChunk(List<ProductDTO> chunk) {
+		List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+			try (PreparedStatement ps = connection.prepareStatement(INSERT_PRODUCT, new String[] { "id" })) {
+				for (ProductDTO dto : chunk) {
+					ps.setString(1, dto.getName());
+					ps.setString(2, dto.getDescription());
+					ps.setObject(3, dto.getPrice());
+					ps.setString(4, dto.getImgUrl());
+					ps.setTimestamp(5, dto.getDate() == null ? null : Timestamp.from(dto.getDate()));
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				List<Long> generated = new ArrayList<>(chunk.size());
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					while (keys.next()) {
+						generated.add(keys.getLong(1));
+					}
+				}
+				return generated;
+			}
+		});
+
+		List<Object[]> links = new ArrayList<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			for (Long categoryId : categoryIds(chunk.get(i))) {
+				links.add(new Object[] { ids.get(i), categoryId });
+			}
+		}
+		if (!links.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links);
+		}
+		eventPublisher.publishEvent(new ProductChangedEvent(ids, ChangeType.CREATED));
+	}
+
+	private static Set<Long> categoryIds(ProductDTO dto) {
+		Set<Long> ids = new LinkedHashSet<>();
+		if (dto.getCategories() != null) {
+			dto.getCategories().forEach(category -> ids.add(category.getId()));
+		}
+		return ids;
+	}
+}
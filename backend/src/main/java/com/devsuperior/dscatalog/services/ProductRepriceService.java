@@ -0,0 +1,137 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.dto.RepriceDTO;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.jobs.JobContext;
+import com.devsuperior.dscatalog.services.jobs.JobHandler;
+
+@Service
+public class ProductRepriceService implements JobHandler {
+
+	public static final String JOB_TYPE = "reprice";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CategorySnapshot categorySnapshot;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private JobService jobService;
+
+	@Value("${app.products.reprice.chunk-size}")
+	private int chunkSize;
+
+	@Override
+	public String getType() {
+		return JOB_TYPE;
+	}
+
+	public JobDTO submit(RepriceDTO request) {
+		if (request.getCategoryId() != null && !categorySnapshot.contains(request.getCategoryId())) {
+			throw new ResourceNotFoundException("Categoria não encontrada: " + request.getCategoryId());
+		}
+		return jobService.submit(JOB_TYPE, request);
+	}
+
+	@Override
+	public void execute(JobContext context) {
+		RepriceDTO request = context.getPayload(RepriceDTO.class);
+		List<Object> params = new ArrayList<>();
+		String filter = filter(request, params);
+		double factor = 1.0 + request.getPercent() / 100.0;
+
+		if (context.getCheckpoint() == null) {
+			context.total(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product WHERE id > ?" + filter,
+					Long.class, args(0L, params)));
+		}
+
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		Cache products = cacheManager.getCache("products");
+		long after = context.getCheckpoint() == null ? 0L : Long.parseLong(context.getCheckpoint());
+		while (!context.isCancelRequested()) {
+			long from = after;
+			List<Long> ids = transaction.execute(status -> {
+				List<Long> chunk = jdbcTemplate.queryForList(
+						"SELECT id FROM tb_product WHERE id > ?" + filter + " ORDER BY id LIMIT " + chunkSize, Long.class,
+						args(from, params));
+				if (!chunk.isEmpty()) {
+					List<Object> updateArgs = new ArrayList<>();
+					updateArgs.add(factor);
+					updateArgs.add(from);
+					updateArgs.add(chunk.get(chunk.size() - 1));
+					updateArgs.addAll(params);
+					int updated = jdbcTemplate.update(
+							"UPDATE tb_product SET price = ROUND(CAST(price * ? AS NUMERIC), 2), version = version + 1"
+									+ " WHERE id > ? AND id <= ?" + filter,
+							updateArgs.toArray());
+					context.checkpoint(String.valueOf(chunk.get(chunk.size() - 1)), updated);
+					eventPublisher.publishEvent(new ProductChangedEvent(chunk, ChangeType.UPDATED));
+				}
+				return chunk;
+			});
+			if (ids.isEmpty()) {
+				return;
+			}
+			if (products != null) {
+				ids.forEach(products::evict);
+			}
+			after = ids.get(ids.size() - 1);
+		}
+	}
+
+	private static String filter(RepriceDTO request, List<Object> params) {
+		StringBuilder sql = new StringBuilder();
+		if (request.getCategoryId() != null) {
+			sql.append(" AND EXISTS (SELECT 1 FROM tb_product_category pc WHERE pc.product_id = tb_product.id"
+					+ " AND pc.category_id = ?)");
+			params.add(request.getCategoryId());
+		}
+		if (request.getName() != null && !request.getName().trim().isEmpty()) {
+			sql.append(" AND LOWER(name) LIKE ? ESCAPE '\\'");
+			params.add(ServiceUtils.likePrefix(request.getName().trim()));
+		}
+		if (request.getMinPrice() != null) {
+			sql.append(" AND price >= ?");
+			params.add(request.getMinPrice());
+		}
+		if (request.getMaxPrice() != null) {
+			sql.append(" AND price <= ?");
+			params.add(request.getMaxPrice());
+		}
+		return sql.toString();
+	}
+
+	private static Object[] args(Object first, List<Object> params) {
+		List<Object> args = new ArrayList<>(params.size() + 1);
+		args.add(first);
+		args.addAll(params);
+		return args.toArray();
+	}
+}
@@ -1,25 +1,53 @@
 package com.devsuperior.dscatalog.services;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validator;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
 import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.cache.CategoryFacetCounters;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @Service
 public class ProductService {
@@ -30,12 +58,104 @@ public class ProductService {
 	@Autowired
 	private CategoryRepository productyRepository;
 
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Autowired
+	private CategorySnapshot categorySnapshot;
+
+	@Autowired
+	private CategoryFacetCounters facetCounters;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
+
 	@Transactional(readOnly = true)
 	public Page<ProductDTO> findAllPaged(Pageable pageable) {
 		Page<Product> categoriesDTO = repository.findAll(pageable);
 		return categoriesDTO.map(x -> new ProductDTO(x));
 	}
 
+	@Transactional(readOnly = true)
+	public Slice<ProductDTO> findAllPaged(Pageable pageable, CountMode countMode, boolean withCategories) {
+		Slice<Product> slice = countMode == CountMode.EXACT ? repository.findAll(pageable)
+				: repository.findAllSliced(pageable);
+		if (withCategories && slice.hasContent()) {
+			repository.findProductsWithCategories(slice.getContent());
+		}
+		Slice<ProductDTO> dtos = slice.map(x -> withCategories ? new ProductDTO(x, x.getCategories()) : new ProductDTO(x));
+		if (countMode == CountMode.APPROXIMATE) {
+			return new PageImpl<>(dtos.getContent(), pageable, tableCounters.count(Product.class));
+		}
+		return dtos;
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<ProductDTO> findAllPaged(Long categoryId, String name, Pageable pageable, CountMode countMode,
+			boolean withCategories) {
+
+		if (categoryId == null && name.isEmpty()) {
+			return findAllPaged(pageable, countMode, withCategories);
+		}
+		String namePrefix = ServiceUtils.likePrefix(name);
+		Slice<Long> ids;
+		if (categoryId == null) {
+			ids = repository.findIdsByName(namePrefix, pageable);
+		} else if (name.isEmpty()) {
+			ids = repository.findIdsByCategory(categoryId, pageable);
+		} else {
+			ids = repository.findIdsByCategoryAndName(categoryId, namePrefix, pageable);
+		}
+		List<ProductDTO> content = findAllInOrder(ids.getContent(), withCategories);
+		if (countMode == CountMode.NONE) {
+			return new SliceImpl<>(content, pageable, ids.hasNext());
+		}
+		long total;
+		if (categoryId == null) {
+			total = repository.countByName(namePrefix);
+		} else if (name.isEmpty()) {
+			total = repository.countByCategory(categoryId);
+		} else {
+			total = repository.countByCategoryAndName(categoryId, namePrefix);
+		}
+		return new PageImpl<>(content, pageable, total);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ProductDTO> findAllAfter(String after, int size) {
+		Pageable pageable = PageRequest.of(0, size);
+		Slice<Product> slice;
+		if (after.isEmpty()) {
+			slice = repository.findFirstKeysetPage(pageable);
+		} else {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			slice = repository.findKeysetPageAfter(cursor.getKey(), cursor.getId(), pageable);
+		}
+		return new CursorPageDTO<>(slice.map(ProductDTO::new), x -> new KeysetCursor(x.getName(), x.getId()).encode());
+	}
+
+	// taken from the (usually cached) DTO, so a revalidation costs no extra query
+	public String eTag(ProductDTO dto) {
+		return dto.getVersion() + "-" + categorySnapshot.getGeneration();
+	}
+
+	public String eTag(Slice<ProductDTO> slice) {
+		StringBuilder sb = new StringBuilder();
+		for (ProductDTO dto : slice) {
+			sb.append(dto.getId()).append(':').append(dto.getVersion()).append(',');
+		}
+		sb.append(slice instanceof Page ? ((Page<?>) slice).getTotalElements() : slice.hasNext());
+		sb.append('-').append(categorySnapshot.getGeneration());
+		return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Cacheable(cacheNames = "products", key = "#id")
 	@Transactional(readOnly = true)
 	public ProductDTO findById(Long id) {
 		Optional<Product> optional = repository.findById(id);
@@ -50,15 +170,23 @@ public class ProductService {
 		copyDtoToEntity(productDTO, producty);
 
 		producty = repository.save(producty);
+		tableCounters.increment(Product.class);
+		facetCounters.add(categoryIds(producty), 1L);
+		eventPublisher.publishEvent(new ProductChangedEvent(producty.getId(), ChangeType.CREATED));
 		return new ProductDTO(producty);
 	}
 
+	@CacheEvict(cacheNames = "products", key = "#id")
 	@Transactional
 	public ProductDTO update(Long id, ProductDTO productDTO) {
 		try {
 			Product producty = repository.getOne(id);
+			ServiceUtils.checkVersion(productDTO.getVersion(), producty.getVersion(), Product.class, id);
+			List<Long> previousCategoryIds = categoryIds(producty);
 			copyDtoToEntity(productDTO, producty);
-			producty = repository.save(producty);
+			producty = repository.saveAndFlush(producty);
+			facetCounters.adjust(previousCategoryIds, categoryIds(producty));
+			eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.UPDATED));
 			return new ProductDTO(producty);
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
@@ -66,9 +194,57 @@ public class ProductService {
 
 	}
 
+	@CacheEvict(cacheNames = "products", key = "#id")
+	@Transactional
+	public ProductDTO patch(Long id, ObjectNode patch) {
+		ProductDTO values = ServiceUtils.readPatch(objectMapper, patch, ProductDTO.class);
+		try {
+			Product producty = repository.getOne(id);
+			if (patch.has("version")) {
+				ServiceUtils.checkVersion(values.getVersion(), producty.getVersion(), Product.class, id);
+			}
+			if (patch.has("name")) {
+				producty.setName(values.getName());
+			}
+			if (patch.has("description")) {
+				producty.setDescription(values.getDescription());
+			}
+			if (patch.has("price")) {
+				producty.setPrice(values.getPrice());
+			}
+			if (patch.has("imgUrl")) {
+				producty.setImgUrl(values.getImgUrl());
+			}
+			if (patch.has("date")) {
+				producty.setDate(values.getDate());
+			}
+			List<Long> previousCategoryIds = null;
+			if (patch.has("categories")) {
+				previousCategoryIds = categoryIds(producty);
+				copyCategories(values.getCategories() != null ? values.getCategories() : List.of(), producty);
+			}
+			ServiceUtils.validate(validator, new ProductDTO(producty));
+			producty = repository.saveAndFlush(producty);
+			if (previousCategoryIds != null) {
+				facetCounters.adjust(previousCategoryIds, categoryIds(producty));
+			}
+			eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.UPDATED));
+			return new ProductDTO(producty);
+		} catch (EntityNotFoundException e) {
+			throw new ResourceNotFoundException("Id not found: " + id);
+		}
+	}
+
+	@CacheEvict(cacheNames = "products", key = "#id")
+	@Transactional
 	public void delete(Long id) {
 		try {
+			List<Long> categoryIds = repository.findCategoryIdsById(id);
 			repository.deleteById(id);
+			repository.flush();
+			tableCounters.decrement(Product.class);
+			facetCounters.add(categoryIds, -1L);
+			eventPublisher.publishEvent(new ProductChangedEvent(id, ChangeType.DELETED));
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -77,17 +253,41 @@ public class ProductService {
 
 	}
 
-	private void copyDtoToEntity(ProductDTO productyDTO, Product product) {
+	private List<ProductDTO> findAllInOrder(List<Long> ids, boolean withCategories) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<Product> products = withCategories ? repository.findWithCategoriesByIdIn(ids) : repository.findAllById(ids);
+		Map<Long, Product> byId = products.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+		return ids.stream().map(byId::get).filter(Objects::nonNull)
+				.map(x -> withCategories ? new ProductDTO(x, x.getCategories()) : new ProductDTO(x))
+				.collect(Collectors.toList());
+	}
+
+	private static List<Long> categoryIds(Product product) {
+		return product.getCategories().stream().map(Category::getId).collect(Collectors.toList());
+	}
+
+	void copyDtoToEntity(ProductDTO productyDTO, Product product) {
 		product.setName(productyDTO.getName());
 		product.setDescription(productyDTO.getDescription());
 		product.setDate(productyDTO.getDate());
 		product.setImgUrl(productyDTO.getImgUrl());
 		product.setPrice(productyDTO.getPrice());
+		copyCategories(productyDTO.getCategories(), product);
+	}
 
-		product.getCategories().clear();
-		for (CategoryDTO catDTO : productyDTO.getCategories()) {
-			Category producty = productyRepository.getOne(catDTO.getId());
-			product.getCategories().add(producty);
+	private void copyCategories(List<CategoryDTO> categories, Product product) {
+		Set<Long> categoryIds = new HashSet<>();
+		for (CategoryDTO catDTO : categories) {
+			if (!categorySnapshot.contains(catDTO.getId())) {
+				throw new ResourceNotFoundException("Categoria não encontrada: " + catDTO.getId());
+			}
+			categoryIds.add(catDTO.getId());
+		}
+		product.getCategories().removeIf(x -> !categoryIds.remove(x.getId()));
+		for (Long categoryId : categoryIds) {
+			product.getCategories().add(productyRepository.getOne(categoryId));
 		}
 	}
 }
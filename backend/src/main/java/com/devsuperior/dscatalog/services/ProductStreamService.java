@@ -0,0 +1,223 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.devsuperior.dscatalog.dto.ProductUpdateDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Service
+public class ProductStreamService {
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.products.stream.max-ids}")
+	private int maxIds;
+
+	@Value("${app.products.stream.buffer-size}")
+	private int bufferSize;
+
+	@Value("${app.products.stream.threads}")
+	private int threads;
+
+	@Value("${app.products.stream.timeout}")
+	private Duration timeout;
+
+	private final Map<Long, Set<Subscriber>> subscribersById = new ConcurrentHashMap<>();
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private ThreadPoolExecutor sender;
+
+	private Counter sent;
+	private Counter dropped;
+	private Counter disconnected;
+	private Timer lag;
+
+	@PostConstruct
+	public void init() {
+		// every subscriber has at most one drain task queued, so the queue is bounded by the connection count
+		sender = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				new CustomizableThreadFactory("product-stream-"));
+		ExecutorServiceMetrics.monitor(meterRegistry, sender, "product-stream");
+		Gauge.builder("products.stream.connections", subscribers, Set::size).register(meterRegistry);
+		Gauge.builder("products.stream.subscribed.products", subscribersById, Map::size).register(meterRegistry);
+		sent = Counter.builder("products.stream.sent").register(meterRegistry);
+		dropped = Counter.builder("products.stream.dropped").register(meterRegistry);
+		disconnected = Counter.builder("products.stream.disconnected").register(meterRegistry);
+		lag = Timer.builder("products.stream.lag").publishPercentiles(0.5, 0.99).register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sender.shutdownNow();
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+	}
+
+	public SseEmitter subscribe(Collection<Long> ids) {
+		Set<Long> distinct = new LinkedHashSet<>(ids);
+		if (distinct.isEmpty() || distinct.size() > maxIds) {
+			throw new InvalidRequestException("ids must list between 1 and " + maxIds + " products");
+		}
+		Subscriber subscriber = new Subscriber(distinct, createEmitter());
+		subscriber.emitter.onCompletion(subscriber::close);
+		subscriber.emitter.onTimeout(subscriber::close);
+		subscriber.emitter.onError(e -> subscriber.close());
+		subscribers.add(subscriber);
+		for (Long id : distinct) {
+			subscribersById.compute(id, (key, targets) -> {
+				Set<Subscriber> result = targets != null ? targets : ConcurrentHashMap.<Subscriber>newKeySet();
+				result.add(subscriber);
+				return result;
+			});
+		}
+
+		// start every stream with the current state, so clients need no separate read
+		lookup(distinct, ChangeType.UPDATED, Instant.now()).values().forEach(subscriber::offer);
+		return subscriber.emitter;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		Instant at = Instant.now();
+		List<Long> watched = new ArrayList<>();
+		for (Long id : event.getIds()) {
+			if (subscribersById.containsKey(id)) {
+				watched.add(id);
+			}
+		}
+		if (watched.isEmpty()) {
+			return;
+		}
+		Map<Long, ProductUpdateDTO> updates = event.getType() == ChangeType.DELETED ? new HashMap<>()
+				: lookup(watched, event.getType(), at);
+		for (Long id : watched) {
+			ProductUpdateDTO update = updates.getOrDefault(id,
+					new ProductUpdateDTO(id, ChangeType.DELETED, null, null, null, at));
+			Set<Subscriber> targets = subscribersById.get(id);
+			if (targets != null) {
+				targets.forEach(subscriber -> subscriber.offer(update));
+			}
+		}
+	}
+
+	SseEmitter createEmitter() {
+		return new SseEmitter(timeout.toMillis());
+	}
+
+	private Map<Long, ProductUpdateDTO> lookup(Collection<Long> ids, ChangeType type, Instant at) {
+		Map<Long, ProductUpdateDTO> result = new HashMap<>();
+		for (Object[] row : repository.findPricesByIds(ids)) {
+			Long id = (Long) row[0];
+			result.put(id, new ProductUpdateDTO(id, type, (String) row[1], (Double) row[2], (Integer) row[3], at));
+		}
+		return result;
+	}
+
+	private class Subscriber {
+
+		private final Set<Long> ids;
+		private final SseEmitter emitter;
+		private final Deque<ProductUpdateDTO> buffer = new ArrayDeque<>();
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		Subscriber(Set<Long> ids, SseEmitter emitter) {
+			this.ids = ids;
+			this.emitter = emitter;
+		}
+
+		// called from the publishing thread: never blocks on the client, drops the oldest update instead
+		void offer(ProductUpdateDTO update) {
+			if (closed.get()) {
+				return;
+			}
+			synchronized (buffer) {
+				if (buffer.size() == bufferSize) {
+					buffer.pollFirst();
+					dropped.increment();
+				}
+				buffer.addLast(update);
+			}
+			if (draining.compareAndSet(false, true)) {
+				sender.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			while (!closed.get()) {
+				ProductUpdateDTO update;
+				synchronized (buffer) {
+					update = buffer.pollFirst();
+					if (update == null) {
+						draining.set(false);
+						return;
+					}
+				}
+				try {
+					emitter.send(SseEmitter.event().name(update.getType().name().toLowerCase()).data(update));
+					sent.increment();
+					lag.record(Duration.between(update.getAt(), Instant.now()));
+				} catch (IOException | IllegalStateException e) {
+					close();
+					emitter.completeWithError(e);
+				}
+			}
+		}
+
+		void close() {
+			if (!closed.compareAndSet(false, true)) {
+				return;
+			}
+			disconnected.increment();
+			subscribers.remove(this);
+			for (Long id : ids) {
+				subscribersById.computeIfPresent(id, (key, targets) -> {
+					targets.remove(this);
+					return targets.isEmpty() ? null : targets;
+				});
+			}
+			synchronized (buffer) {
+				buffer.clear();
+			}
+		}
+	}
+}
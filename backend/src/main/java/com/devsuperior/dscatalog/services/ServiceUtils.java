@@ -0,0 +1,80 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.devsuperior.dscatalog.services.exceptions.FieldValidationException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+final class ServiceUtils {
+
+	private static final Comparator<ConstraintViolation<Object>> BY_PATH_AND_MESSAGE = Comparator
+			.comparing((ConstraintViolation<Object> v) -> v.getPropertyPath().toString())
+			.thenComparing(ConstraintViolation::getMessage);
+
+	private ServiceUtils() {
+	}
+
+	/**
+	 * Rejects a write whose client-supplied version no longer matches the row;
+	 * a missing version means the client opted out of the check.
+	 */
+	static void checkVersion(Integer expected, Integer actual, Class<?> type, Long id) {
+		if (expected != null && !expected.equals(actual)) {
+			throw new ObjectOptimisticLockingFailureException(type, id);
+		}
+	}
+
+	/**
+	 * Lower-cased LIKE pattern matching names that start with {@code name}, with
+	 * the wildcards escaped for {@code ESCAPE '\'}.
+	 */
+	static String likePrefix(String name) {
+		return name.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+	}
+
+	/**
+	 * Binds a JSON merge patch onto a DTO; absent fields stay null, so callers
+	 * decide what changed with {@code patch.has(...)}.
+	 */
+	static <T> T readPatch(ObjectMapper objectMapper, ObjectNode patch, Class<T> type) {
+		try {
+			return objectMapper.treeToValue(patch, type);
+		} catch (JsonProcessingException e) {
+			throw new InvalidRequestException("Malformed patch: " + e.getOriginalMessage());
+		}
+	}
+
+	static void validate(Validator validator, Object dto) {
+		Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+		if (!violations.isEmpty()) {
+			MultiValueMap<String, String> errors = new LinkedMultiValueMap<>();
+			violations.stream().sorted(BY_PATH_AND_MESSAGE)
+					.forEach(v -> errors.add(v.getPropertyPath().toString(), v.getMessage()));
+			throw new FieldValidationException(errors);
+		}
+	}
+
+	/**
+	 * Bean Validation errors as sorted {@code "path: message"} pairs, or null when valid.
+	 */
+	static String violations(Validator validator, Object dto) {
+		Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream().sorted(BY_PATH_AND_MESSAGE).map(v -> v.getPropertyPath() + ": " + v.getMessage())
+				.collect(Collectors.joining("; "));
+	}
+}
@@ -1,23 +1,33 @@
 package com.devsuperior.dscatalog.services;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.devsuperior.dscatalog.dto.CursorPageDTO;
 import com.devsuperior.dscatalog.dto.RoleDTO;
 import com.devsuperior.dscatalog.dto.UserDTO;
 import com.devsuperior.dscatalog.dto.UserInsertDTO;
@@ -26,8 +36,16 @@ import com.devsuperior.dscatalog.entities.Role;
 import com.devsuperior.dscatalog.entities.User;
 import com.devsuperior.dscatalog.repositories.RoleRepository;
 import com.devsuperior.dscatalog.repositories.UserRepository;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.FieldValidationException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.pagination.KeysetCursor;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @Service
 public class UserService implements UserDetailsService{
@@ -41,7 +59,22 @@ public class UserService implements UserDetailsService{
 	private RoleRepository roleRepository;
 
 	@Autowired
-	private BCryptPasswordEncoder passwordEncoder;
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Validator validator;
 
 	@Transactional(readOnly = true)
 	public Page<UserDTO> findAllPaged(Pageable pageable) {
@@ -50,6 +83,32 @@ public class UserService implements UserDetailsService{
 		return categoriesDTO.map(UserDTO::new);
 	}
 
+	@Transactional(readOnly = true)
+	public Slice<UserDTO> findAllPaged(Pageable pageable, CountMode countMode) {
+
+		if (countMode == CountMode.EXACT) {
+			return findAllPaged(pageable);
+		}
+		Slice<UserDTO> slice = repository.findAllSliced(pageable).map(UserDTO::new);
+		if (countMode == CountMode.APPROXIMATE) {
+			return new PageImpl<>(slice.getContent(), pageable, tableCounters.count(User.class));
+		}
+		return slice;
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<UserDTO> findAllAfter(String after, int size) {
+		Pageable pageable = PageRequest.of(0, size);
+		Slice<User> slice;
+		if (after.isEmpty()) {
+			slice = repository.findFirstKeysetPage(pageable);
+		} else {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			slice = repository.findKeysetPageAfter(cursor.getKey(), cursor.getId(), pageable);
+		}
+		return new CursorPageDTO<>(slice.map(UserDTO::new), x -> new KeysetCursor(x.getEmail(), x.getId()).encode());
+	}
+
 	@Transactional(readOnly = true)
 	public UserDTO findById(Long id) {
 
@@ -65,6 +124,8 @@ public class UserService implements UserDetailsService{
 		copyDtoToEntity(userInsertDTO, user);
 		user.setPassword(passwordEncoder.encode(userInsertDTO.getPassword()));
 		user = repository.save(user);
+		tableCounters.increment(User.class);
+		eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), ChangeType.CREATED));
 		return new UserDTO(user);
 	}
 
@@ -73,8 +134,11 @@ public class UserService implements UserDetailsService{
 
 		try {
 			User user = repository.getOne(id);
+			ServiceUtils.checkVersion(userDTO.getVersion(), user.getVersion(), User.class, id);
+			String previousEmail = user.getEmail();
 			copyDtoToEntity(userDTO, user);
-			user = repository.save(user);
+			user = repository.saveAndFlush(user);
+			eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail, ChangeType.UPDATED));
 			return new UserDTO(user);
 		} catch (EntityNotFoundException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
@@ -82,10 +146,50 @@ public class UserService implements UserDetailsService{
 
 	}
 
+	@Transactional
+	public UserDTO patch(Long id, ObjectNode patch) {
+
+		UserDTO values = ServiceUtils.readPatch(objectMapper, patch, UserDTO.class);
+		try {
+			User user = repository.getOne(id);
+			if (patch.has("version")) {
+				ServiceUtils.checkVersion(values.getVersion(), user.getVersion(), User.class, id);
+			}
+			String previousEmail = user.getEmail();
+			if (patch.has("firstName")) {
+				user.setFirstName(values.getFirstName());
+			}
+			if (patch.has("lastName")) {
+				user.setLastName(values.getLastName());
+			}
+			if (patch.has("email")) {
+				User other = repository.findByEmail(values.getEmail());
+				if (other != null && !other.getId().equals(id)) {
+					throw new FieldValidationException("email", "Email já cadastrado");
+				}
+				user.setEmail(values.getEmail());
+			}
+			if (patch.has("roles")) {
+				copyRoles(values.getRoles() != null ? values.getRoles() : Set.of(), user);
+			}
+			ServiceUtils.validate(validator, new UserDTO(user));
+			user = repository.saveAndFlush(user);
+			eventPublisher.publishEvent(new UserChangedEvent(id, previousEmail, ChangeType.UPDATED));
+			return new UserDTO(user);
+		} catch (EntityNotFoundException e) {
+			throw new ResourceNotFoundException("Id not found: " + id);
+		}
+	}
+
+	@Transactional
 	public void delete(Long id) {
 
 		try {
+			String email = repository.findById(id).map(User::getEmail).orElse(null);
 			repository.deleteById(id);
+			repository.flush();
+			tableCounters.decrement(User.class);
+			eventPublisher.publishEvent(new UserChangedEvent(id, email, ChangeType.DELETED));
 		} catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found: " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -99,10 +203,15 @@ public class UserService implements UserDetailsService{
 		user.setFirstName(userDTO.getFirstName());
 		user.setLastName(userDTO.getLastName());
 		user.setEmail(userDTO.getEmail());
+		copyRoles(userDTO.getRoles(), user);
+	}
 
-		user.getRoles().clear();
-		for (RoleDTO roleDTO : userDTO.getRoles()) {
-			Role role = roleRepository.getOne(roleDTO.getId());
+	private void copyRoles(Set<RoleDTO> roles, User user) {
+
+		Set<Long> roleIds = roles.stream().map(RoleDTO::getId).collect(Collectors.toSet());
+		user.getRoles().removeIf(x -> !roleIds.remove(x.getId()));
+		for (Long roleId : roleIds) {
+			Role role = roleRepository.getOne(roleId);
 			user.getRoles().add(role);
 		}
 	}
@@ -111,10 +220,17 @@ public class UserService implements UserDetailsService{
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		User user = repository.findByEmail(username);
 		if (user == null) {
-			logger.error("User not found {0}. ",username);
+			logger.error("User not found: {}", username);
 			throw new UsernameNotFoundException("Email não encontrado");
 		}
-		logger.info("User found: " + username);
+		logger.debug("User found: {}", username);
 		return user;
 	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		if (event.getEmail() != null) {
+			userCache.removeUserFromCache(event.getEmail());
+		}
+	}
 }
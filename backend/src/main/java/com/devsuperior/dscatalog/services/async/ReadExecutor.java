@@ -0,0 +1,161 @@
+package com.devsuperior.dscatalog.services.async;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/*
+ * Runs blocking JDBC reads off the servlet container threads; waiting requests
+ * cost a queue slot instead of a thread. The connection pool is shared with
+ * writes, job workers, the outbox relay and the feeds, so the pool here is kept
+ * below it by app.reads.connection-reserve and a read burst cannot take every
+ * connection. A read that is still queued when the request times out is
+ * skipped, so a burst the pool cannot serve in time does not keep it busy
+ * afterwards.
+ *
+ * With app.reads.inline (the virtual-threads profile) the request thread is
+ * already cheap to block, so reads run on it directly; the same number of
+ * permits still keeps them below the connection pool.
+ */
+@Component
+public class ReadExecutor {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.reads.threads}")
+	private int threads;
+
+	@Value("${app.reads.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${app.reads.inline}")
+	private boolean inline;
+
+	@Value("${app.reads.connection-reserve}")
+	private int connectionReserve;
+
+	// Hikari's own default when the property is not set
+	@Value("${spring.datasource.hikari.maximum-pool-size:10}")
+	private int connectionPoolSize;
+
+	@Value("${spring.mvc.async.request-timeout}")
+	private Duration timeout;
+
+	private ThreadPoolExecutor executor;
+
+	// bounds inline reads the way the pool size bounds queued ones
+	private Semaphore permits;
+
+	// carries the caller's security context, which replica routing uses for read-your-writes
+	private Executor secured;
+
+	private Counter rejected;
+	private Counter expired;
+
+	@PostConstruct
+	public void init() {
+		if (threads + connectionReserve > connectionPoolSize) {
+			throw new IllegalStateException("app.reads.threads=" + threads + " must leave app.reads.connection-reserve="
+					+ connectionReserve + " of the " + connectionPoolSize + " pooled connections to other work");
+		}
+		if (inline) {
+			permits = new Semaphore(threads, true);
+		} else {
+			executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("jdbc-read-"));
+			secured = new DelegatingSecurityContextExecutor(executor);
+			ExecutorServiceMetrics.monitor(meterRegistry, executor, "jdbc-read");
+		}
+		rejected = Counter.builder("reads.rejected").register(meterRegistry);
+		expired = Counter.builder("reads.expired").register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> query) {
+		if (inline) {
+			return runInline(query);
+		}
+		CompletableFuture<T> result = new CompletableFuture<>();
+		// a query that has already started runs to the end; only waiting ones are given up
+		result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		try {
+			secured.execute(() -> {
+				if (result.isDone()) {
+					expired.increment();
+					return;
+				}
+				try {
+					result.complete(query.get());
+				} catch (RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ServiceUnavailableException("Too many concurrent reads, retry later");
+		}
+		CompletableFuture<T> answer = new CompletableFuture<>();
+		result.whenComplete((value, e) -> {
+			if (e instanceof TimeoutException) {
+				answer.completeExceptionally(new ServiceUnavailableException("Read timed out, retry later"));
+			} else if (e != null) {
+				answer.completeExceptionally(e);
+			} else {
+				answer.complete(value);
+			}
+		});
+		return answer;
+	}
+
+	private <T> CompletableFuture<T> runInline(Supplier<T> query) {
+		if (permits.getQueueLength() >= queueCapacity) {
+			rejected.increment();
+			throw new ServiceUnavailableException("Too many concurrent reads, retry later");
+		}
+		try {
+			if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				expired.increment();
+				return CompletableFuture.failedFuture(new ServiceUnavailableException("Read timed out, retry later"));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return CompletableFuture.failedFuture(new ServiceUnavailableException("Read interrupted, retry later"));
+		}
+		try {
+			return CompletableFuture.completedFuture(query.get());
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		} finally {
+			permits.release();
+		}
+	}
+}
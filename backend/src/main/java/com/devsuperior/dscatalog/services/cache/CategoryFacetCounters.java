@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.AfterCommit;
+
+@Component
+public class CategoryFacetCounters {
+
+	@Autowired
+	private ProductRepository repository;
+
+	private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	private volatile boolean loaded;
+
+	public Map<Long, Long> counts() {
+		if (!loaded) {
+			refresh(true);
+		}
+		Map<Long, Long> result = new HashMap<>();
+		counters.forEach((categoryId, counter) -> result.put(categoryId, counter.get()));
+		return result;
+	}
+
+	public void add(Collection<Long> categoryIds, long delta) {
+		Set<Long> ids = new HashSet<>(categoryIds);
+		AfterCommit.run(() -> {
+			if (loaded) {
+				ids.forEach(id -> counters.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(delta));
+			}
+		});
+	}
+
+	public void adjust(Collection<Long> before, Collection<Long> after) {
+		Set<Long> removed = new HashSet<>(before);
+		removed.removeAll(after);
+		Set<Long> added = new HashSet<>(after);
+		added.removeAll(before);
+		add(removed, -1L);
+		add(added, 1L);
+	}
+
+	@Scheduled(fixedDelayString = "${app.counters.refresh-interval}", initialDelayString = "${app.counters.refresh-interval}")
+	public void refresh() {
+		refresh(false);
+	}
+
+	private void refresh(boolean force) {
+		if (!force && !loaded) {
+			return;
+		}
+		Map<Long, Long> fresh = toMap(repository.countPerCategory());
+		counters.keySet().retainAll(fresh.keySet());
+		fresh.forEach((categoryId, count) -> counters.computeIfAbsent(categoryId, k -> new AtomicLong()).set(count));
+		loaded = true;
+	}
+
+	public static Map<Long, Long> toMap(Iterable<Object[]> rows) {
+		Map<Long, Long> map = new HashMap<>();
+		for (Object[] row : rows) {
+			map.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+		}
+		return map;
+	}
+}
@@ -0,0 +1,205 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+
+@Component
+public class CategorySnapshot {
+
+	private static final Comparator<CategoryDTO> BY_NAME_AND_ID = Comparator
+			.comparing(CategoryDTO::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(CategoryDTO::getId);
+
+	@Autowired
+	private CategoryRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private volatile Map<Long, CategoryDTO> categories;
+
+	private volatile long generation;
+
+	private volatile Instant lastModified = Instant.EPOCH;
+
+	// a lock rather than a monitor: reloads run queries, and blocking inside a monitor pins a virtual thread
+	private final ReentrantLock lock = new ReentrantLock();
+
+	public Optional<CategoryDTO> get(Long id) {
+		return Optional.ofNullable(snapshot().get(id));
+	}
+
+	public boolean contains(Long id) {
+		return snapshot().containsKey(id);
+	}
+
+	public long getGeneration() {
+		snapshot();
+		return generation;
+	}
+
+	public Instant getLastModified() {
+		snapshot();
+		return lastModified;
+	}
+
+	public static boolean supports(Sort sort) {
+		return sort.stream().allMatch(order -> order.getProperty().equals("id") || order.getProperty().equals("name"));
+	}
+
+	public Page<CategoryDTO> findAll(Pageable pageable) {
+		List<CategoryDTO> all = new ArrayList<>(snapshot().values());
+		if (pageable.getSort().isSorted()) {
+			all.sort(comparator(pageable.getSort()));
+		}
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(all, pageable, all.size());
+		}
+		int from = (int) Math.min(pageable.getOffset(), all.size());
+		int to = Math.min(from + pageable.getPageSize(), all.size());
+		return new PageImpl<>(all.subList(from, to), pageable, all.size());
+	}
+
+	public List<CategoryDTO> findAfter(String name, Long id, int size) {
+		CategoryDTO after = new CategoryDTO(id, name);
+		return snapshot().values().stream().filter(x -> BY_NAME_AND_ID.compare(x, after) > 0).sorted(BY_NAME_AND_ID)
+				.limit(size).collect(Collectors.toList());
+	}
+
+	public List<CategoryDTO> findFirst(int size) {
+		return snapshot().values().stream().sorted(BY_NAME_AND_ID).limit(size).collect(Collectors.toList());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reload() {
+		lock.lock();
+		try {
+			Map<Long, CategoryDTO> loaded = new LinkedHashMap<>();
+			Instant modified = Instant.EPOCH;
+			for (Category category : readFromPrimary(status -> repository.findAll(Sort.by("id")))) {
+				loaded.put(category.getId(), new CategoryDTO(category));
+				modified = latest(modified, modifiedAt(category));
+			}
+			lastModified = modified;
+			generation = generationOf(loaded);
+			categories = Collections.unmodifiableMap(loaded);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		lock.lock();
+		try {
+			Map<Long, CategoryDTO> copy = new LinkedHashMap<>(snapshot());
+			Optional<Category> category = event.getType() == ChangeType.DELETED ? Optional.empty()
+					: readFromPrimary(status -> repository.findById(event.getId()));
+			if (category.isPresent()) {
+				copy.put(event.getId(), new CategoryDTO(category.get()));
+				lastModified = latest(lastModified, modifiedAt(category.get()));
+			} else {
+				copy.remove(event.getId());
+				lastModified = latest(lastModified, Instant.now());
+			}
+			generation = generationOf(copy);
+			categories = Collections.unmodifiableMap(copy);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private Map<Long, CategoryDTO> snapshot() {
+		Map<Long, CategoryDTO> current = categories;
+		if (current == null) {
+			lock.lock();
+			try {
+				if (categories == null) {
+					reload();
+				}
+				current = categories;
+			} finally {
+				lock.unlock();
+			}
+		}
+		return current;
+	}
+
+	/*
+	 * The snapshot is served to every request until the next change, so it must
+	 * not be loaded from a lagging replica. A new read-write transaction keeps
+	 * replica routing on the primary, also when the first access happens inside
+	 * a read-only transaction or right after a commit.
+	 */
+	private <T> T readFromPrimary(TransactionCallback<T> query) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return transaction.execute(query);
+	}
+
+	/*
+	 * Derived from the rows themselves rather than counted, so every node (and
+	 * every restart) holding the same categories hands out the same ETags.
+	 */
+	private static long generationOf(Map<Long, CategoryDTO> categories) {
+		long hash = 17;
+		for (CategoryDTO category : new TreeMap<>(categories).values()) {
+			hash = 31 * hash + category.getId();
+			hash = 31 * hash + Objects.hashCode(category.getVersion());
+			hash = 31 * hash + Objects.hashCode(category.getName());
+		}
+		return hash;
+	}
+
+	private static Instant modifiedAt(Category category) {
+		Instant modified = category.getUpdateAt() != null ? category.getUpdateAt() : category.getCreatedAt();
+		return modified != null ? modified : Instant.EPOCH;
+	}
+
+	private static Instant latest(Instant a, Instant b) {
+		return a.isAfter(b) ? a : b;
+	}
+
+	private static Comparator<CategoryDTO> comparator(Sort sort) {
+		Comparator<CategoryDTO> comparator = null;
+		for (Sort.Order order : sort) {
+			Comparator<CategoryDTO> next = order.getProperty().equals("id") ? Comparator.comparing(CategoryDTO::getId)
+					: Comparator.comparing(CategoryDTO::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+			if (order.isDescending()) {
+				next = next.reversed();
+			}
+			comparator = comparator == null ? next : comparator.thenComparing(next);
+		}
+		return comparator;
+	}
+}
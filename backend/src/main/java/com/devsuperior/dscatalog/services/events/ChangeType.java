@@ -0,0 +1,6 @@
+package com.devsuperior.dscatalog.services.events;
+
+public enum ChangeType {
+
+	CREATED, UPDATED, DELETED;
+}
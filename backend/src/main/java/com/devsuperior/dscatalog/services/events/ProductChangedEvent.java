@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.services.events;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ProductChangedEvent {
+
+	private final List<Long> ids;
+	private final ChangeType type;
+
+	public ProductChangedEvent(Long id, ChangeType type) {
+		this(Collections.singletonList(id), type);
+	}
+
+	public ProductChangedEvent(List<Long> ids, ChangeType type) {
+		this.ids = ids;
+		this.type = type;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public ChangeType getType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.services.events;
+
+public class UserChangedEvent {
+
+	private final Long id;
+	private final String email;
+	private final ChangeType type;
+
+	public UserChangedEvent(Long id, String email, ChangeType type) {
+		this.id = id;
+		this.email = email;
+		this.type = type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public ChangeType getType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Validation failure found by a service rather than by {@code @Valid} binding,
+ * kept per field so the response has the same shape either way.
+ */
+public class FieldValidationException extends InvalidRequestException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final MultiValueMap<String, String> errors;
+
+	public FieldValidationException(MultiValueMap<String, String> errors) {
+		super(errors.entrySet().stream()
+				.flatMap(e -> e.getValue().stream().map(message -> e.getKey() + ": " + message))
+				.collect(Collectors.joining("; ")));
+		this.errors = errors;
+	}
+
+	public FieldValidationException(String field, String message) {
+		this(new LinkedMultiValueMap<>(Map.of(field, List.of(message))));
+	}
+
+	public MultiValueMap<String, String> getErrors() {
+		return errors;
+	}
+
+}
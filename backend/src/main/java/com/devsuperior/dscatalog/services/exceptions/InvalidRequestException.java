@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidRequestException(String msg) {
+		super(msg);
+	}
+
+}
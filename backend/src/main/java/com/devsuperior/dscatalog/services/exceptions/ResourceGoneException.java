@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class ResourceGoneException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ResourceGoneException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+public class CsvProductExportWriter implements ProductExportWriter {
+
+	private static final String HEADER = "id,name,description,price,imgUrl,date,categoryIds,categoryNames";
+
+	private final Writer writer;
+
+	public CsvProductExportWriter(OutputStream out) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		this.writer.write(HEADER);
+		this.writer.write("\r\n");
+	}
+
+	@Override
+	public void write(ProductDTO product) throws IOException {
+		writer.write(String.valueOf(product.getId()));
+		field(product.getName());
+		field(product.getDescription());
+		field(product.getPrice() == null ? null : product.getPrice().toString());
+		field(product.getImgUrl());
+		field(product.getDate() == null ? null : product.getDate().toString());
+		field(product.getCategories().stream().map(c -> String.valueOf(c.getId())).collect(Collectors.joining("|")));
+		field(product.getCategories().stream().map(CategoryDTO::getName).collect(Collectors.joining("|")));
+		writer.write("\r\n");
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private void field(String value) throws IOException {
+		writer.write(',');
+		if (value == null) {
+			return;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
@@ -0,0 +1,44 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum ExportFormat {
+
+	NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	private ExportFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public ProductExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+		return this == CSV ? new CsvProductExportWriter(out) : new NdjsonProductExportWriter(out, objectMapper);
+	}
+
+	public static ExportFormat fromParam(String format) {
+		switch (format.toLowerCase()) {
+		case "ndjson":
+		case "json":
+			return NDJSON;
+		case "csv":
+			return CSV;
+		default:
+			throw new InvalidRequestException("Invalid export format: " + format);
+		}
+	}
+}
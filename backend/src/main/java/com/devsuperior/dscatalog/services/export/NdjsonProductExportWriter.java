@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class NdjsonProductExportWriter implements ProductExportWriter {
+
+	private final JsonGenerator generator;
+
+	public NdjsonProductExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+		this.generator = objectMapper.getFactory().createGenerator(out);
+		this.generator.setCodec(objectMapper);
+		this.generator.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void write(ProductDTO product) throws IOException {
+		generator.writeObject(product);
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+}
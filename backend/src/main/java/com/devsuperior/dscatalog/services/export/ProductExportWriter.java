@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+public interface ProductExportWriter extends Closeable {
+
+	void write(ProductDTO product) throws IOException;
+}
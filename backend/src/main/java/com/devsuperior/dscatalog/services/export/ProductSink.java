@@ -0,0 +1,11 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.IOException;
+
+import com.devsuperior.dscatalog.dto.ProductDTO;
+
+@FunctionalInterface
+public interface ProductSink {
+
+	void accept(ProductDTO product) throws IOException;
+}
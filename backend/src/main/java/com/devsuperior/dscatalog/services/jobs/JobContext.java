@@ -0,0 +1,61 @@
+package com.devsuperior.dscatalog.services.jobs;
+
+import java.time.Instant;
+
+import com.devsuperior.dscatalog.repositories.JobRepository;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JobContext {
+
+	private final Long jobId;
+	private final String payload;
+	private final String checkpoint;
+	private final JobRepository repository;
+	private final ObjectMapper objectMapper;
+
+	private boolean cancelled;
+
+	public JobContext(Long jobId, String payload, String checkpoint, JobRepository repository,
+			ObjectMapper objectMapper) {
+		this.jobId = jobId;
+		this.payload = payload;
+		this.checkpoint = checkpoint;
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+	}
+
+	public Long getJobId() {
+		return jobId;
+	}
+
+	public <T> T getPayload(Class<T> type) {
+		try {
+			return objectMapper.readValue(payload, type);
+		} catch (JsonProcessingException e) {
+			throw new InvalidRequestException("Malformed payload for job " + jobId + ": " + e.getOriginalMessage());
+		}
+	}
+
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	public boolean isCancelRequested() {
+		cancelled = cancelled || repository.isCancelRequested(jobId);
+		return cancelled;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void total(long total) {
+		repository.updateTotal(jobId, total, Instant.now());
+	}
+
+	public void checkpoint(String checkpoint, long processed) {
+		repository.checkpoint(jobId, checkpoint, processed, Instant.now());
+	}
+}
@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.services.jobs;
+
+public interface JobHandler {
+
+	String getType();
+
+	void execute(JobContext context);
+}
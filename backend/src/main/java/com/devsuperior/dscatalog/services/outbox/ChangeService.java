@@ -0,0 +1,265 @@
+package com.devsuperior.dscatalog.services.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.devsuperior.dscatalog.dto.ChangeDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.exceptions.ResourceGoneException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Service
+public class ChangeService {
+
+	private static final String SELECT_CHANGES = "SELECT sequence, aggregate, aggregate_id, type, created_at FROM tb_outbox"
+			+ " WHERE sequence > ? ORDER BY sequence LIMIT ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.changes.max-limit}")
+	private int maxLimit;
+
+	@Value("${app.changes.max-timeout}")
+	private Duration maxTimeout;
+
+	@Value("${app.changes.stream-timeout}")
+	private Duration streamTimeout;
+
+	@Value("${app.changes.buffer-size}")
+	private int bufferSize;
+
+	@Value("${app.changes.threads}")
+	private int threads;
+
+	private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	private ThreadPoolExecutor sender;
+
+	@PostConstruct
+	public void init() {
+		// every waiter and subscriber has at most one task queued, so the queue is bounded by the connection count
+		sender = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				new CustomizableThreadFactory("change-feed-"));
+		ExecutorServiceMetrics.monitor(meterRegistry, sender, "change-feed");
+		Gauge.builder("changes.poll.waiters", waiters, Set::size).register(meterRegistry);
+		Gauge.builder("changes.stream.connections", subscribers, Set::size).register(meterRegistry);
+		relay.addListener(this::onRelayed);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		sender.shutdownNow();
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+	}
+
+	public DeferredResult<ChangeFeedDTO> poll(long since, int limit, Duration timeout) {
+		checkLimit(limit);
+		if (timeout.isNegative() || timeout.compareTo(maxTimeout) > 0) {
+			throw new InvalidRequestException("timeout must be between 0 and " + maxTimeout.getSeconds() + "s");
+		}
+		checkNotPurged(since);
+		DeferredResult<ChangeFeedDTO> result = new DeferredResult<>(timeout.toMillis(),
+				() -> new ChangeFeedDTO(List.of(), since));
+		Waiter waiter = new Waiter(since, limit, result);
+		// register before looking at the table, so a relay that lands in between still wakes us up
+		waiters.add(waiter);
+		result.onCompletion(() -> waiters.remove(waiter));
+		if (timeout.isZero() || relay.getLatest() > since) {
+			waiter.complete(timeout.isZero());
+		}
+		return result;
+	}
+
+	public SseEmitter stream(long since) {
+		checkNotPurged(since);
+		SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+		Subscriber subscriber = new Subscriber(since, emitter);
+		subscribers.add(subscriber);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(e -> subscribers.remove(subscriber));
+		if (relay.getLatest() > since) {
+			subscriber.schedule();
+		}
+		return emitter;
+	}
+
+	/*
+	 * Runs on the relay thread, which must get back to assigning sequences, so it
+	 * only hands work to the sender pool: queries and client writes happen there.
+	 */
+	private void onRelayed(long latest) {
+		waiters.forEach(waiter -> {
+			if (waiter.since < latest) {
+				waiter.schedule();
+			}
+		});
+		subscribers.forEach(subscriber -> {
+			if (subscriber.position < latest) {
+				subscriber.schedule();
+			}
+		});
+	}
+
+	private void execute(Runnable task, AtomicBoolean scheduled) {
+		try {
+			sender.execute(task);
+		} catch (RejectedExecutionException e) {
+			// shutting down
+			scheduled.set(false);
+		}
+	}
+
+	private List<ChangeDTO> query(long since, int limit) {
+		return jdbcTemplate.query(SELECT_CHANGES,
+				(rs, i) -> new ChangeDTO(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+						rs.getTimestamp(5).toInstant()),
+				since, limit);
+	}
+
+	/*
+	 * Purge deletes old relayed events, so a consumer reading from before the
+	 * last purged sequence would silently skip some; it has to resync instead.
+	 */
+	private void checkNotPurged(long since) {
+		if (since < relay.getPurgedThrough()) {
+			throw new ResourceGoneException("Changes after " + since
+					+ " have been purged, resync and continue from " + relay.getLatest());
+		}
+	}
+
+	private void checkLimit(int limit) {
+		if (limit < 1 || limit > maxLimit) {
+			throw new InvalidRequestException("limit must be between 1 and " + maxLimit);
+		}
+	}
+
+	private class Waiter {
+
+		private final long since;
+		private final int limit;
+		private final DeferredResult<ChangeFeedDTO> result;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		Waiter(long since, int limit, DeferredResult<ChangeFeedDTO> result) {
+			this.since = since;
+			this.limit = limit;
+			this.result = result;
+		}
+
+		void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				execute(() -> {
+					scheduled.set(false);
+					complete(false);
+				}, scheduled);
+			}
+		}
+
+		void complete(boolean evenIfEmpty) {
+			if (result.isSetOrExpired()) {
+				return;
+			}
+			List<ChangeDTO> changes = query(since, limit);
+			try {
+				checkNotPurged(since);
+			} catch (ResourceGoneException e) {
+				result.setErrorResult(e);
+				return;
+			}
+			if (!changes.isEmpty() || evenIfEmpty) {
+				result.setResult(new ChangeFeedDTO(changes, since));
+			}
+		}
+	}
+
+	private class Subscriber {
+
+		private volatile long position;
+		private final SseEmitter emitter;
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		Subscriber(long position, SseEmitter emitter) {
+			this.position = position;
+			this.emitter = emitter;
+		}
+
+		void schedule() {
+			if (draining.compareAndSet(false, true)) {
+				execute(this::drain, draining);
+			}
+		}
+
+		/*
+		 * Sends at most one page of bufferSize changes per task, so a subscriber
+		 * far behind (or a slow client) takes turns with the others instead of
+		 * holding a sender thread until it has caught up. The backlog itself
+		 * stays in tb_outbox; nothing is dropped.
+		 */
+		private void drain() {
+			List<ChangeDTO> changes;
+			try {
+				changes = query(position, bufferSize);
+				if (position < relay.getPurgedThrough()) {
+					// fell behind the purge; ending the stream makes the client reconnect from Last-Event-ID and get a 410
+					subscribers.remove(this);
+					emitter.complete();
+					return;
+				}
+				for (ChangeDTO change : changes) {
+					emitter.send(SseEmitter.event().id(String.valueOf(change.getSequence()))
+							.name(change.getAggregate().toLowerCase()).data(change));
+					position = change.getSequence();
+				}
+			} catch (IOException | IllegalStateException e) {
+				subscribers.remove(this);
+				emitter.completeWithError(e);
+				return;
+			} catch (RuntimeException e) {
+				draining.set(false);
+				throw e;
+			}
+			if (changes.size() == bufferSize) {
+				execute(this::drain, draining);
+				return;
+			}
+			draining.set(false);
+			// a relay that arrived while this drain was running saw draining == true and moved on
+			if (position < relay.getLatest() && subscribers.contains(this)) {
+				schedule();
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.devsuperior.dscatalog.services.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
+
+@Component
+public class OutboxRecorder {
+
+	private static final String INSERT_OUTBOX = "INSERT INTO tb_outbox (aggregate, aggregate_id, type, created_at) VALUES (?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		record("PRODUCT", event.getIds(), event.getType());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		record("CATEGORY", List.of(event.getId()), event.getType());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		record("USER", List.of(event.getId()), event.getType());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterCommit(ProductChangedEvent event) {
+		relay.wakeUp();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterCommit(CategoryChangedEvent event) {
+		relay.wakeUp();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void afterCommit(UserChangedEvent event) {
+		relay.wakeUp();
+	}
+
+	private void record(String aggregate, List<Long> ids, ChangeType type) {
+		Timestamp now = Timestamp.from(Instant.now());
+		jdbcTemplate.batchUpdate(INSERT_OUTBOX,
+				ids.stream().map(id -> new Object[] { aggregate, id, type.name(), now }).collect(Collectors.toList()));
+	}
+}
@@ -0,0 +1,190 @@
+package com.devsuperior.dscatalog.services.outbox;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class OutboxRelay {
+
+	private static Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${app.outbox.batch-size}")
+	private int batchSize;
+
+	@Value("${app.outbox.relay-interval}")
+	private Duration relayInterval;
+
+	@Value("${app.outbox.retention}")
+	private Duration retention;
+
+	private final Semaphore signal = new Semaphore(0);
+
+	private final AtomicLong latest = new AtomicLong();
+
+	private final AtomicLong purgedThrough = new AtomicLong();
+
+	private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+	// sequences must be handed out by one relay at a time, even when relay() is called outside the worker
+	private final ReentrantLock relayLock = new ReentrantLock();
+
+	private volatile Thread worker;
+
+	public long getLatest() {
+		return latest.get();
+	}
+
+	public long getPurgedThrough() {
+		return purgedThrough.get();
+	}
+
+	public void addListener(LongConsumer listener) {
+		listeners.add(listener);
+	}
+
+	public void wakeUp() {
+		if (signal.availablePermits() == 0) {
+			signal.release();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		loadCursor();
+		worker = new Thread(this::loop, "outbox-relay");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		Thread thread = worker;
+		worker = null;
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval}")
+	public void purge() {
+		long latestPurgeable = latest.get();
+		Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Long through = jdbcTemplate.queryForObject(
+					"SELECT MAX(sequence) FROM tb_outbox WHERE sequence <= ? AND created_at < ?", Long.class,
+					latestPurgeable, cutoff);
+			if (through == null) {
+				return;
+			}
+			// raised before the rows go, so a consumer that read before the delete is told it may have missed some
+			purgedThrough.accumulateAndGet(through, Math::max);
+			int deleted = jdbcTemplate.update("DELETE FROM tb_outbox WHERE sequence <= ? AND created_at < ?",
+					latestPurgeable, cutoff);
+			jdbcTemplate.update("UPDATE tb_outbox_cursor SET purged_through = ? WHERE id = 1 AND purged_through < ?",
+					through, through);
+			logger.info("Purged {} outbox events older than {}", deleted, retention);
+		});
+	}
+
+	void loadCursor() {
+		Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_outbox_cursor", Long.class);
+		if (rows == 0) {
+			// first start on this database: carry on from whatever tb_outbox still holds
+			jdbcTemplate.update("INSERT INTO tb_outbox_cursor (id, last_sequence, purged_through)"
+					+ " SELECT 1, COALESCE(MAX(sequence), 0), COALESCE(MIN(sequence) - 1, 0) FROM tb_outbox");
+		}
+		jdbcTemplate.query("SELECT last_sequence, purged_through FROM tb_outbox_cursor WHERE id = 1", rs -> {
+			latest.set(rs.getLong(1));
+			purgedThrough.set(rs.getLong(2));
+		});
+	}
+
+	private void loop() {
+		while (worker == Thread.currentThread()) {
+			try {
+				signal.tryAcquire(relayInterval.toMillis(), TimeUnit.MILLISECONDS);
+				signal.drainPermits();
+				while (relay() == batchSize) {
+					// keep draining until the backlog is smaller than one batch
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				logger.error("Outbox relay failed, retrying in {}", relayInterval, e);
+			}
+		}
+	}
+
+	/*
+	 * Rows get their ids when they are inserted, but become visible when their
+	 * transaction commits, so ids can show up out of order. Sequences are handed
+	 * out here, in the order rows become visible, which lets consumers read past
+	 * the last sequence they saw without ever skipping a late commit. The counter
+	 * lives in tb_outbox_cursor rather than in MAX(sequence), which purge would
+	 * reset. This assumes a single relay per database.
+	 */
+	int relay() {
+		relayLock.lock();
+		try {
+			return relayBatch();
+		} finally {
+			relayLock.unlock();
+		}
+	}
+
+	private int relayBatch() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		Long last = transaction.execute(status -> {
+			List<Long> ids = jdbcTemplate.queryForList(
+					"SELECT id FROM tb_outbox WHERE sequence IS NULL ORDER BY id LIMIT " + batchSize, Long.class);
+			if (ids.isEmpty()) {
+				return null;
+			}
+			long next = jdbcTemplate.queryForObject("SELECT last_sequence FROM tb_outbox_cursor WHERE id = 1",
+					Long.class);
+			List<Object[]> args = new ArrayList<>(ids.size());
+			for (Long id : ids) {
+				args.add(new Object[] { ++next, id });
+			}
+			jdbcTemplate.batchUpdate("UPDATE tb_outbox SET sequence = ? WHERE id = ?", args);
+			jdbcTemplate.update("UPDATE tb_outbox_cursor SET last_sequence = ? WHERE id = 1", next);
+			return next;
+		});
+		if (last == null) {
+			return 0;
+		}
+		long count = last - latest.getAndSet(last);
+		listeners.forEach(listener -> listener.accept(last));
+		return (int) count;
+	}
+}
@@ -0,0 +1,24 @@
+package com.devsuperior.dscatalog.services.pagination;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+public enum CountMode {
+
+	EXACT, NONE, APPROXIMATE;
+
+	public static CountMode fromParam(String count) {
+		switch (count.toLowerCase()) {
+		case "true":
+		case "exact":
+			return EXACT;
+		case "false":
+		case "none":
+			return NONE;
+		case "approx":
+		case "approximate":
+			return APPROXIMATE;
+		default:
+			throw new InvalidRequestException("Invalid count mode: " + count);
+		}
+	}
+}
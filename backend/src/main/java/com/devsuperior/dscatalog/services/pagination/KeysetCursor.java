@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.services.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+public class KeysetCursor {
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final String key;
+	private final Long id;
+
+	public KeysetCursor(String key, Long id) {
+		this.key = key;
+		this.id = id;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = key + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			if (separator < 0) {
+				throw new InvalidRequestException("Invalid cursor: " + cursor);
+			}
+			return new KeysetCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidRequestException("Invalid cursor: " + cursor);
+		}
+	}
+}
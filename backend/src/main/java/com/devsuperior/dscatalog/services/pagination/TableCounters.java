@@ -0,0 +1,60 @@
+package com.devsuperior.dscatalog.services.pagination;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.entities.User;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.UserRepository;
+import com.devsuperior.dscatalog.services.events.AfterCommit;
+
+@Component
+public class TableCounters {
+
+	private final Map<Class<?>, JpaRepository<?, Long>> repositories;
+
+	private final Map<Class<?>, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TableCounters(ProductRepository productRepository, CategoryRepository categoryRepository,
+			UserRepository userRepository) {
+		repositories = Map.of(Product.class, productRepository, Category.class, categoryRepository, User.class,
+				userRepository);
+	}
+
+	public long count(Class<?> entity) {
+		return counters.computeIfAbsent(entity, e -> new AtomicLong(repositories.get(e).count())).get();
+	}
+
+	public void increment(Class<?> entity) {
+		add(entity, 1L);
+	}
+
+	public void decrement(Class<?> entity) {
+		add(entity, -1L);
+	}
+
+	// counted on commit, so a rolled back write never shows up in the total
+	public void add(Class<?> entity, long delta) {
+		AfterCommit.run(() -> {
+			AtomicLong counter = counters.get(entity);
+			if (counter != null) {
+				counter.addAndGet(delta);
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.counters.refresh-interval}", initialDelayString = "${app.counters.refresh-interval}")
+	public void refresh() {
+		counters.forEach((entity, counter) -> counter.set(repositories.get(entity).count()));
+	}
+}
@@ -0,0 +1,356 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.jobs.JobContext;
+import com.devsuperior.dscatalog.services.jobs.JobHandler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Component
+public class ProductSearchIndex implements JobHandler {
+
+	public static final String JOB_TYPE = "search-rebuild";
+
+	private static Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+	private static final int MAX_RESULT_WINDOW = 10_000;
+	private static final int REINDEX_CHUNK = 1_000;
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.search.index-dir:}")
+	private String indexDir;
+
+	@Value("${app.search.rebuild-on-startup}")
+	private boolean rebuildOnStartup;
+
+	private final Analyzer analyzer = new FoldingAnalyzer();
+	private final Map<String, Float> weights = new HashMap<>();
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+	private final Set<Long> pendingCategories = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private Directory directory;
+	private IndexWriter writer;
+	private SearcherManager searcherManager;
+	private ThreadPoolExecutor indexer;
+
+	@PostConstruct
+	public void open() throws IOException {
+		weights.put("name", 3f);
+		weights.put("categories", 2f);
+		weights.put("description", 1f);
+		directory = indexDir.isEmpty() ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(indexDir));
+		writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+		searcherManager = new SearcherManager(writer, null);
+		indexer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				new CustomizableThreadFactory("search-index-"));
+		ExecutorServiceMetrics.monitor(meterRegistry, indexer, "search-index");
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		indexer.shutdownNow();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() throws IOException {
+		if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+			rebuild();
+		}
+	}
+
+	public Page<ProductDTO> search(String text, Pageable pageable) {
+		if (text == null || text.trim().isEmpty()) {
+			throw new InvalidRequestException("Search query must not be empty");
+		}
+		if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_WINDOW) {
+			throw new InvalidRequestException("Search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+		}
+		SimpleQueryParser parser = new SimpleQueryParser(analyzer, weights);
+		parser.setDefaultOperator(BooleanClause.Occur.MUST);
+		Query query = parser.parse(text);
+		if (query == null) {
+			return Page.empty(pageable);
+		}
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				int offset = (int) pageable.getOffset();
+				TopDocs top = searcher.search(query, offset + pageable.getPageSize());
+				List<ProductDTO> content = new ArrayList<>();
+				for (int i = offset; i < top.scoreDocs.length; i++) {
+					ScoreDoc hit = top.scoreDocs[i];
+					content.add(toDto(searcher.doc(hit.doc)));
+				}
+				return new PageImpl<>(content, pageable, top.totalHits.value);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public String getType() {
+		return JOB_TYPE;
+	}
+
+	@Override
+	public void execute(JobContext context) {
+		try {
+			long count = rebuild();
+			context.total(count);
+			context.checkpoint(null, count);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public long rebuild() throws IOException {
+		long start = System.currentTimeMillis();
+		long count;
+		writeLock.lock();
+		try {
+			writer.deleteAll();
+			count = exportService.scan(product -> writer.addDocument(toDocument(product)));
+			writer.commit();
+			searcherManager.maybeRefresh();
+		} finally {
+			writeLock.unlock();
+		}
+		logger.info("Rebuilt product search index with {} documents in {} ms", count,
+				System.currentTimeMillis() - start);
+		schedule();
+		return count;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		pending.addAll(event.getIds());
+		schedule();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		if (event.getType() == ChangeType.UPDATED) {
+			pendingCategories.add(event.getId());
+			schedule();
+		}
+	}
+
+	// the index is durable up to the last commit; a crash in between is repaired by a rebuild
+	@Scheduled(fixedDelayString = "${app.search.commit-interval}")
+	public void commit() {
+		writeLock.lock();
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException e) {
+			logger.error("Could not commit product search index", e);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/*
+	 * Changes are indexed on a single background thread, so committing requests
+	 * and jobs never wait for Lucene. Whatever piled up while it was busy goes in
+	 * one batch, and becomes searchable through a near-real-time refresh; the
+	 * fsync happens in commit().
+	 */
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				indexer.execute(this::indexPending);
+			} catch (RejectedExecutionException e) {
+				// shutting down
+				scheduled.set(false);
+			}
+		}
+	}
+
+	private void indexPending() {
+		// cleared first: a change arriving from here on schedules another run
+		scheduled.set(false);
+		writeLock.lock();
+		try {
+			for (Long categoryId : take(pendingCategories)) {
+				List<Long> ids;
+				Long after = 0L;
+				do {
+					ids = repository.findIdsByCategoryIdAfter(categoryId, after, PageRequest.of(0, REINDEX_CHUNK));
+					if (!ids.isEmpty()) {
+						reindex(ids);
+						after = ids.get(ids.size() - 1);
+					}
+				} while (ids.size() == REINDEX_CHUNK);
+			}
+			List<Long> ids = take(pending);
+			for (int from = 0; from < ids.size(); from += REINDEX_CHUNK) {
+				reindex(ids.subList(from, Math.min(from + REINDEX_CHUNK, ids.size())));
+			}
+			searcherManager.maybeRefresh();
+		} catch (IOException | RuntimeException e) {
+			logger.error("Could not update product search index", e);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private static List<Long> take(Set<Long> source) {
+		List<Long> taken = new ArrayList<>(source);
+		source.removeAll(taken);
+		return taken;
+	}
+
+	private void reindex(List<Long> ids) throws IOException {
+		Set<Long> missing = new HashSet<>(ids);
+		for (Product product : repository.findWithCategoriesByIdIn(ids)) {
+			missing.remove(product.getId());
+			writer.updateDocument(new Term("id", product.getId().toString()),
+					toDocument(new ProductDTO(product, product.getCategories())));
+		}
+		for (Long id : missing) {
+			writer.deleteDocuments(new Term("id", id.toString()));
+		}
+	}
+
+	private static Document toDocument(ProductDTO product) {
+		Document doc = new Document();
+		doc.add(new StringField("id", product.getId().toString(), Field.Store.YES));
+		if (product.getName() != null) {
+			doc.add(new TextField("name", product.getName(), Field.Store.YES));
+		}
+		if (product.getDescription() != null) {
+			doc.add(new TextField("description", product.getDescription(), Field.Store.YES));
+		}
+		if (product.getPrice() != null) {
+			doc.add(new StoredField("price", product.getPrice()));
+		}
+		if (product.getImgUrl() != null) {
+			doc.add(new StoredField("imgUrl", product.getImgUrl()));
+		}
+		if (product.getDate() != null) {
+			doc.add(new StoredField("date", product.getDate().toEpochMilli()));
+		}
+		for (CategoryDTO category : product.getCategories()) {
+			doc.add(new TextField("categories", category.getName(), Field.Store.NO));
+			doc.add(new StoredField("categoryId", category.getId()));
+			doc.add(new StoredField("categoryName", category.getName()));
+		}
+		return doc;
+	}
+
+	private static ProductDTO toDto(Document doc) {
+		IndexableField price = doc.getField("price");
+		IndexableField date = doc.getField("date");
+		ProductDTO dto = new ProductDTO(Long.valueOf(doc.get("id")), doc.get("name"), doc.get("description"),
+				price == null ? null : price.numericValue().doubleValue(), doc.get("imgUrl"),
+				date == null ? null : Instant.ofEpochMilli(date.numericValue().longValue()));
+		IndexableField[] categoryIds = doc.getFields("categoryId");
+		String[] categoryNames = doc.getValues("categoryName");
+		for (int i = 0; i < categoryIds.length; i++) {
+			dto.getCategories().add(new CategoryDTO(categoryIds[i].numericValue().longValue(), categoryNames[i]));
+		}
+		return dto;
+	}
+
+	private static class FoldingAnalyzer extends Analyzer {
+
+		@Override
+		protected TokenStreamComponents createComponents(String fieldName) {
+			Tokenizer tokenizer = new StandardTokenizer();
+			TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+			return new TokenStreamComponents(tokenizer, stream);
+		}
+
+		@Override
+		protected TokenStream normalize(String fieldName, TokenStream in) {
+			return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+		}
+	}
+}
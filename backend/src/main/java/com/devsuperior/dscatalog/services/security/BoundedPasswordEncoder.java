@@ -0,0 +1,134 @@
+package com.devsuperior.dscatalog.services.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+	private static final String MEMO_ALGORITHM = "HmacSHA256";
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Duration timeout;
+	private final Cache<String, Boolean> verified;
+	private final SecretKeySpec memoKey;
+
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter memoHits;
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+			Duration memoTtl, MeterRegistry registry) {
+
+		this.delegate = delegate;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-encoder-"));
+		this.verified = Caffeine.newBuilder().expireAfterWrite(memoTtl).maximumSize(10_000).build();
+
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		this.memoKey = new SecretKeySpec(key, MEMO_ALGORITHM);
+
+		ExecutorServiceMetrics.monitor(registry, executor, "password-encoder");
+		this.encodeTimer = Timer.builder("security.password").tag("operation", "encode").register(registry);
+		this.matchesTimer = Timer.builder("security.password").tag("operation", "matches").register(registry);
+		this.memoHits = Counter.builder("security.password.memo.hits").register(registry);
+		this.rejected = Counter.builder("security.password.rejected").register(registry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(() -> delegate.encode(rawPassword), encodeTimer);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		if (rawPassword == null || encodedPassword == null) {
+			return delegate.matches(rawPassword, encodedPassword);
+		}
+		String key = memoKey(rawPassword, encodedPassword);
+		if (verified.getIfPresent(key) != null) {
+			memoHits.increment();
+			return true;
+		}
+		boolean matches = submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+		if (matches) {
+			verified.put(key, Boolean.TRUE);
+		}
+		return matches;
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private <T> T submit(Callable<T> task, Timer timer) {
+		Timer.Sample sample = Timer.start();
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new AuthenticationServiceException("Password encoder is saturated");
+		}
+		try {
+			return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw new AuthenticationServiceException("Password encoder timed out");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AuthenticationServiceException("Password encoder interrupted", e);
+		} catch (ExecutionException e) {
+			throw new AuthenticationServiceException("Password encoder failed", e.getCause());
+		} finally {
+			sample.stop(timer);
+		}
+	}
+
+	private String memoKey(CharSequence rawPassword, String encodedPassword) {
+		try {
+			Mac mac = Mac.getInstance(MEMO_ALGORITHM);
+			mac.init(memoKey);
+			mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+			mac.update((byte) 0);
+			mac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(mac.doFinal());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
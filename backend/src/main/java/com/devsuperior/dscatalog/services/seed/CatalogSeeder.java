@@ -0,0 +1,149 @@
+package com.devsuperior.dscatalog.services.seed;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class CatalogSeeder {
+
+	private static final String[] DEPARTMENTS = { "Livros", "Eletrônicos", "Computadores", "Games", "Celulares",
+			"Casa", "Cozinha", "Esportes", "Moda", "Beleza", "Brinquedos", "Ferramentas", "Automotivo", "Papelaria",
+			"Pet Shop" };
+	private static final String[] ADJECTIVES = { "Smart", "Pro", "Ultra", "Max", "Plus", "Lite", "Gamer", "Classic",
+			"Turbo", "Prime" };
+	private static final String[] NOUNS = { "TV", "Notebook", "Monitor", "Headset", "Mouse", "Teclado", "Cadeira",
+			"Livro", "Console", "Câmera", "Tablet", "Smartphone", "Relógio", "Caixa de Som", "Impressora" };
+	private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in "
+			+ "voluptate velit esse cillum dolore eu fugiat nulla pariatur.";
+	private static final String PASSWORD_123456 = "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG";
+
+	private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+	private static final long DATE_RANGE_SECONDS = Duration.ofDays(3 * 365).getSeconds();
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Random random;
+	private final int batchSize;
+
+	public CatalogSeeder(JdbcTemplate jdbcTemplate, long seed, int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.random = new Random(seed);
+		this.batchSize = batchSize;
+	}
+
+	public List<Long> seedCategories(int count) {
+		Timestamp now = Timestamp.from(EPOCH);
+		List<Object[]> rows = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String name = DEPARTMENTS[i % DEPARTMENTS.length] + (i < DEPARTMENTS.length ? "" : " " + (i / DEPARTMENTS.length));
+			rows.add(new Object[] { name, now });
+		}
+		return insertAndFetchIds("tb_category", "INSERT INTO tb_category (name, created_at) VALUES (?, ?)", rows);
+	}
+
+	public List<Long> existingCategoryIds() {
+		return jdbcTemplate.queryForList("SELECT id FROM tb_category ORDER BY id", Long.class);
+	}
+
+	public long seedProducts(int count, List<Long> categoryIds, int maxCategoriesPerProduct) {
+		double[] popularity = zipf(categoryIds.size(), 1.1);
+		long links = 0;
+		List<Object[]> rows = new ArrayList<>(batchSize);
+		for (int i = 0; i < count; i++) {
+			rows.add(product());
+			if (rows.size() == batchSize || i == count - 1) {
+				List<Long> ids = insertAndFetchIds("tb_product",
+						"INSERT INTO tb_product (name, price, date, description, img_url) VALUES (?, ?, ?, ?, ?)", rows);
+				links += linkCategories(ids, categoryIds, popularity, maxCategoriesPerProduct);
+				rows.clear();
+			}
+		}
+		return links;
+	}
+
+	public void seedUsers(int count) {
+		Long operator = jdbcTemplate.queryForObject("SELECT id FROM tb_role WHERE authority = 'ROLE_OPERATOR'",
+				Long.class);
+		List<Object[]> rows = new ArrayList<>(batchSize);
+		for (int i = 0; i < count; i++) {
+			String firstName = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+			String lastName = NOUNS[random.nextInt(NOUNS.length)];
+			rows.add(new Object[] { firstName, lastName, "seed.user" + i + "@example.com", PASSWORD_123456 });
+			if (rows.size() == batchSize || i == count - 1) {
+				List<Long> ids = insertAndFetchIds("tb_user",
+						"INSERT INTO tb_user (first_name, last_name, email, password) VALUES (?, ?, ?, ?)", rows);
+				List<Object[]> roles = new ArrayList<>(ids.size());
+				ids.forEach(id -> roles.add(new Object[] { id, operator }));
+				jdbcTemplate.batchUpdate("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", roles);
+				rows.clear();
+			}
+		}
+	}
+
+	private Object[] product() {
+		String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " "
+				+ (100 + random.nextInt(9900));
+		double price = Math.max(0.99, Math.round(Math.exp(Math.log(150) + random.nextGaussian()) * 100) / 100.0);
+		Timestamp date = Timestamp.from(EPOCH.plusSeconds((long) (random.nextDouble() * DATE_RANGE_SECONDS)));
+		String description = LOREM.substring(0, 60 + random.nextInt(LOREM.length() - 60));
+		String imgUrl = "https://img.example.com/products/" + random.nextInt(1000) + ".jpg";
+		return new Object[] { name, price, date, description, imgUrl };
+	}
+
+	private long linkCategories(List<Long> productIds, List<Long> categoryIds, double[] popularity, int max) {
+		if (categoryIds.isEmpty()) {
+			return 0;
+		}
+		List<Object[]> links = new ArrayList<>(productIds.size() * 2);
+		for (Long productId : productIds) {
+			int wanted = 1;
+			while (wanted < Math.min(max, categoryIds.size()) && random.nextDouble() < 0.3) {
+				wanted++;
+			}
+			Set<Long> chosen = new LinkedHashSet<>();
+			while (chosen.size() < wanted) {
+				chosen.add(categoryIds.get(sample(popularity)));
+			}
+			chosen.forEach(categoryId -> links.add(new Object[] { productId, categoryId }));
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)", links);
+		return links.size();
+	}
+
+	private List<Long> insertAndFetchIds(String table, String sql, List<Object[]> rows) {
+		if (rows.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+		jdbcTemplate.batchUpdate(sql, rows);
+		return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?", Long.class,
+				lastId, rows.size());
+	}
+
+	private static double[] zipf(int n, double exponent) {
+		double[] cumulative = new double[n];
+		double total = 0;
+		for (int i = 0; i < n; i++) {
+			total += 1.0 / Math.pow(i + 1, exponent);
+			cumulative[i] = total;
+		}
+		for (int i = 0; i < n; i++) {
+			cumulative[i] /= total;
+		}
+		return cumulative;
+	}
+
+	private int sample(double[] cumulative) {
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+	}
+}
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.services.seed;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+
+@Component
+@Profile("seed")
+public class SeedRunner implements ApplicationRunner {
+
+	private static Logger logger = LoggerFactory.getLogger(SeedRunner.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Value("${app.seed.random-seed}")
+	private long randomSeed;
+
+	@Value("${app.seed.batch-size}")
+	private int batchSize;
+
+	@Value("${app.seed.categories}")
+	private int categories;
+
+	@Value("${app.seed.products}")
+	private int products;
+
+	@Value("${app.seed.max-categories-per-product}")
+	private int maxCategoriesPerProduct;
+
+	@Value("${app.seed.users}")
+	private int users;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		long start = System.currentTimeMillis();
+		CatalogSeeder seeder = new CatalogSeeder(jdbcTemplate, randomSeed, batchSize);
+
+		List<Long> categoryIds = seeder.seedCategories(categories);
+		if (categoryIds.isEmpty()) {
+			categoryIds = seeder.existingCategoryIds();
+		}
+		long links = seeder.seedProducts(products, categoryIds, maxCategoriesPerProduct);
+		seeder.seedUsers(users);
+		tableCounters.refresh();
+
+		logger.info("Seeded {} categories, {} products, {} product-category links and {} users in {} ms",
+				categoryIds.size(), products, links, users, System.currentTimeMillis() - start);
+	}
+}
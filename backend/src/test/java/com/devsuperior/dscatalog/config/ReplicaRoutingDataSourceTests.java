@@ -0,0 +1,184 @@
+package com.devsuperior.dscatalog.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTests {
+
+	private ReplicaRoutingDataSource routing;
+
+	private FlakyDataSource replica;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate readOnly;
+
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		DataSource primary = database("primary");
+		replica = new FlakyDataSource(database("replica"));
+
+		routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMillis(300),
+				new SimpleMeterRegistry());
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsShouldReadFromReplica() {
+
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+	}
+
+	@Test
+	void readWriteTransactionsShouldUsePrimary() {
+
+		Assertions.assertEquals("primary", readWrite.execute(status -> origin()));
+	}
+
+	@Test
+	void readsShouldStickToPrimaryAfterOwnWriteUntilWindowExpires() throws Exception {
+		login("alice");
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE tb_origin SET name = name"));
+
+		Assertions.assertEquals("primary", readOnly.execute(status -> origin()));
+
+		login("bob");
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+
+		Thread.sleep(400);
+		login("alice");
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+	}
+
+	@Test
+	void readWriteTransactionWithoutWritesShouldNotMakeUserSticky() {
+		login("alice");
+		Assertions.assertEquals("primary", readWrite.execute(status -> origin()));
+
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+	}
+
+	@Test
+	void rolledBackWriteShouldNotMakeUserSticky() {
+		login("alice");
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE tb_origin SET name = ?", "changed");
+			status.setRollbackOnly();
+		});
+
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+	}
+
+	@Test
+	void readsShouldFailOverToPrimaryWhileReplicaIsDown() {
+		replica.down = true;
+
+		Assertions.assertEquals("primary", readOnly.execute(status -> origin()));
+		Assertions.assertEquals(0, routing.healthyReplicas());
+
+		replica.down = false;
+		routing.checkReplicas();
+
+		Assertions.assertEquals(1, routing.healthyReplicas());
+		Assertions.assertEquals("replica", readOnly.execute(status -> origin()));
+	}
+
+	@Test
+	void connectionsWithCredentialsShouldBeRoutedAndFailOver() {
+
+		Assertions.assertEquals("replica", readOnly.execute(status -> originWithCredentials()));
+		Assertions.assertEquals("primary", readWrite.execute(status -> originWithCredentials()));
+
+		replica.down = true;
+		Assertions.assertEquals("primary", readOnly.execute(status -> originWithCredentials()));
+		Assertions.assertEquals(0, routing.healthyReplicas());
+	}
+
+	private String originWithCredentials() {
+		try (Connection connection = routing.getConnection("sa", "")) {
+			ResultSet rs = connection.createStatement().executeQuery("SELECT name FROM tb_origin");
+			rs.next();
+			return rs.getString(1);
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String origin() {
+		return jdbcTemplate.queryForObject("SELECT name FROM tb_origin", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate setup = new JdbcTemplate(dataSource);
+		setup.execute("CREATE TABLE tb_origin (name VARCHAR(20))");
+		setup.update("INSERT INTO tb_origin (name) VALUES (?)", name);
+		return dataSource;
+	}
+
+	private static void login(String user) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, AuthorityUtils.NO_AUTHORITIES));
+	}
+
+	private static class FlakyDataSource extends DelegatingDataSource {
+
+		private volatile boolean down;
+
+		FlakyDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (down) {
+				throw new SQLException("Connection refused");
+			}
+			return super.getConnection();
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			if (down) {
+				throw new SQLException("Connection refused");
+			}
+			return super.getConnection(username, password);
+		}
+	}
+}
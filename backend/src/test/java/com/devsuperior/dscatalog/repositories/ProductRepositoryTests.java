@@ -1,13 +1,19 @@
 package com.devsuperior.dscatalog.repositories;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Hibernate;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.tests.Factory;
@@ -18,6 +24,9 @@ public class ProductRepositoryTests {
 	@Autowired
 	private ProductRepository repository;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
 	private long noxExistingId;
 
 	private long existingId;
@@ -71,4 +80,65 @@ public class ProductRepositoryTests {
 		Optional<Product> result = repository.findById(noxExistingId);
 		Assertions.assertFalse(result.isPresent());
 	}
+
+	@Test
+	public void findProductsWithCategoriesShouldInitializeCategoriesOfGivenProducts() {
+
+		List<Product> page = repository.findAll(PageRequest.of(0, 5)).getContent();
+		List<Product> result = repository.findProductsWithCategories(page);
+
+		Assertions.assertEquals(page.size(), result.size());
+		page.forEach(p -> Assertions.assertTrue(Hibernate.isInitialized(p.getCategories())));
+	}
+
+	@Test
+	public void findKeysetPageAfterShouldContinueFromLastRowOfPreviousSlice() {
+
+		Slice<Product> first = repository.findFirstKeysetPage(PageRequest.of(0, 10));
+		Product last = first.getContent().get(9);
+		Slice<Product> second = repository.findKeysetPageAfter(last.getName(), last.getId(), PageRequest.of(0, 10));
+
+		Assertions.assertTrue(first.hasNext());
+		Assertions.assertEquals(10, second.getNumberOfElements());
+		Assertions.assertTrue(second.getContent().get(0).getName().compareTo(last.getName()) >= 0);
+		Assertions.assertFalse(first.getContent().contains(second.getContent().get(0)));
+	}
+
+	@Test
+	public void findIdsByCategoryAndNameShouldMatchNamePrefixIgnoringCase() {
+
+		Slice<Long> ids = repository.findIdsByCategoryAndName(3L, "pc gamer%", PageRequest.of(0, 50));
+		long total = repository.countByCategoryAndName(3L, "pc gamer%");
+
+		Assertions.assertFalse(ids.isEmpty());
+		Assertions.assertEquals(total, ids.getNumberOfElements());
+		repository.findAllById(ids.getContent()).forEach(p -> Assertions.assertTrue(p.getName().startsWith("PC Gamer")));
+	}
+
+	@Test
+	public void findIdsByNameShouldTreatWildcardsInPrefixAsLiterals() {
+
+		Slice<Long> ids = repository.findIdsByName("pc\\_gamer%", PageRequest.of(0, 50));
+
+		Assertions.assertTrue(ids.isEmpty());
+	}
+
+	@Test
+	public void countPerCategoryShouldCountEveryProductCategoryLinkOnce() {
+
+		long total = repository.countPerCategory().stream().mapToLong(row -> ((Number) row[1]).longValue()).sum();
+		long scoped = repository.countPerCategory("pc gamer%", 0.0, Double.MAX_VALUE).stream()
+				.mapToLong(row -> ((Number) row[1]).longValue()).sum();
+
+		Assertions.assertEquals(26L, total);
+		Assertions.assertEquals(repository.countByName("pc gamer%"), scoped);
+	}
+
+	@Test
+	public void keysetOrderShouldBeBackedByNameAndIdIndex() {
+		List<String> columns = jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES "
+				+ "WHERE INDEX_NAME = 'IDX_PRODUCT_NAME_ID' ORDER BY ORDINAL_POSITION", String.class);
+
+		Assertions.assertEquals(List.of("NAME", "ID"), columns);
+	}
 }
@@ -0,0 +1,144 @@
+package com.devsuperior.dscatalog.resources;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.CategoryFacetDTO;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductRepriceService;
+import com.devsuperior.dscatalog.services.async.ReadExecutor;
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+
+@WebMvcTest(CategoryResource.class)
+@AutoConfigureMockMvc(addFilters = false)
+class CategoryResourceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private CategoryService service;
+
+	@MockBean
+	private ProductRepriceService repriceService;
+
+	@MockBean
+	private ReadExecutor readExecutor;
+
+	// required by WebSecurityConfig, which the slice picks up
+	@MockBean
+	private UserDetailsService userDetailsService;
+
+	@MockBean
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private UserCache userCache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(service.findETag()).thenReturn("3-7");
+		when(service.findLastModified()).thenReturn(Instant.parse("2021-01-01T00:00:00Z"));
+		when(service.findAllPaged(ArgumentMatchers.any(), ArgumentMatchers.any(CountMode.class)))
+				.thenReturn(new PageImpl<>(List.of(new CategoryDTO(1L, "Livros"))));
+		when(service.findFacets(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+				.thenReturn(List.of(new CategoryFacetDTO(2L, "Eletrônicos", 5L)));
+
+		when(readExecutor.submit(ArgumentMatchers.any())).thenAnswer(invocation -> {
+			Supplier<?> query = invocation.getArgument(0);
+			return CompletableFuture.supplyAsync(query, Runnable::run);
+		});
+	}
+
+	@Test
+	public void findAllShouldReturnPageWithETag() throws Exception {
+		MvcResult result = mockMvc.perform(get("/categories").accept(MediaType.APPLICATION_JSON)).andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
+
+		resultActions.andExpect(status().isOk());
+		resultActions.andExpect(header().string(HttpHeaders.ETAG, "\"3-7\""));
+		resultActions.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+		resultActions.andExpect(jsonPath("$.content[0].name").value("Livros"));
+	}
+
+	@Test
+	public void findAllShouldReturnNotModifiedWithoutQueryingWhenETagMatches() throws Exception {
+		MvcResult result = mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, "\"3-7\"")
+				.accept(MediaType.APPLICATION_JSON)).andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
+
+		resultActions.andExpect(status().isNotModified());
+		Mockito.verify(readExecutor, Mockito.never()).submit(ArgumentMatchers.any());
+		Mockito.verify(service, Mockito.never()).findAllPaged(ArgumentMatchers.any(),
+				ArgumentMatchers.any(CountMode.class));
+	}
+
+	@Test
+	public void findAllShouldPassCountMode() throws Exception {
+		MvcResult result = mockMvc.perform(get("/categories?count=false").accept(MediaType.APPLICATION_JSON))
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+		Mockito.verify(service).findAllPaged(ArgumentMatchers.any(), ArgumentMatchers.eq(CountMode.fromParam("false")));
+	}
+
+	@Test
+	public void findFacetsShouldReturnCountsForTrimmedName() throws Exception {
+		MvcResult result = mockMvc.perform(get("/categories/facets?name= tv &maxPrice=500")
+				.accept(MediaType.APPLICATION_JSON)).andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
+
+		resultActions.andExpect(status().isOk());
+		resultActions.andExpect(jsonPath("$[0].id").value(2L));
+		resultActions.andExpect(jsonPath("$[0].count").value(5L));
+		Mockito.verify(service).findFacets("tv", null, 500.0);
+	}
+
+	@Test
+	public void findFacetsShouldReturnServiceUnavailableWhenReadsAreSaturated() throws Exception {
+		Mockito.doThrow(new ServiceUnavailableException("busy")).when(readExecutor).submit(ArgumentMatchers.any());
+
+		mockMvc.perform(get("/categories/facets").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isServiceUnavailable());
+	}
+
+	@Test
+	public void findFacetsShouldReturnServiceUnavailableWhenReadTimesOut() throws Exception {
+		Mockito.doReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("timed out")))
+				.when(readExecutor).submit(ArgumentMatchers.any());
+
+		MvcResult result = mockMvc.perform(get("/categories/facets").accept(MediaType.APPLICATION_JSON)).andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
+
+		resultActions.andExpect(status().isServiceUnavailable());
+	}
+}
@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.resources;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.devsuperior.dscatalog.services.exceptions.ResourceGoneException;
+import com.devsuperior.dscatalog.services.outbox.ChangeService;
+
+@WebMvcTest(ChangeResource.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ChangeResourceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private ChangeService service;
+
+	// required by WebSecurityConfig, which the slice picks up
+	@MockBean
+	private UserDetailsService userDetailsService;
+
+	@MockBean
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private UserCache userCache;
+
+	@Test
+	void pollShouldReturnGoneWhenSinceWasPurged() throws Exception {
+		when(service.poll(ArgumentMatchers.eq(3L), ArgumentMatchers.anyInt(), ArgumentMatchers.any(Duration.class)))
+				.thenThrow(new ResourceGoneException("Changes after 3 have been purged, resync and continue from 42"));
+
+		ResultActions resultActions = mockMvc.perform(get("/changes").param("since", "3")
+				.accept(MediaType.APPLICATION_JSON));
+
+		resultActions.andExpect(status().isGone());
+		resultActions.andExpect(jsonPath("$.message").value("Changes after 3 have been purged, resync and continue from 42"));
+	}
+
+	@Test
+	void streamShouldReturnGoneWhenLastEventIdWasPurged() throws Exception {
+		when(service.stream(3L)).thenThrow(new ResourceGoneException("Changes after 3 have been purged"));
+
+		ResultActions resultActions = mockMvc.perform(get("/changes/stream").header("Last-Event-ID", "3")
+				.accept(MediaType.TEXT_EVENT_STREAM));
+
+		resultActions.andExpect(status().isGone());
+	}
+}
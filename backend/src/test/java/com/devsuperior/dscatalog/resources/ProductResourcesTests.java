@@ -3,34 +3,53 @@ package com.devsuperior.dscatalog.resources;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.JobService;
+import com.devsuperior.dscatalog.services.ProductExportService;
+import com.devsuperior.dscatalog.services.ProductImportService;
+import com.devsuperior.dscatalog.services.ProductRepriceService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.ProductStreamService;
+import com.devsuperior.dscatalog.services.async.ReadExecutor;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.FieldValidationException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
 import com.devsuperior.dscatalog.tests.Factory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(ProductResource.class)
+@AutoConfigureMockMvc(addFilters = false)
 class ProductResourcesTests {
 
 	@Autowired
@@ -38,6 +57,37 @@ class ProductResourcesTests {
 	
 	@MockBean
 	private ProductService service;
+
+	@MockBean
+	private ProductImportService importService;
+
+	@MockBean
+	private ProductExportService exportService;
+
+	@MockBean
+	private ProductSearchIndex searchIndex;
+
+	@MockBean
+	private ProductRepriceService repriceService;
+
+	@MockBean
+	private JobService jobService;
+
+	@MockBean
+	private ProductStreamService streamService;
+
+	@MockBean
+	private ReadExecutor readExecutor;
+
+	// required by WebSecurityConfig, which the slice picks up
+	@MockBean
+	private UserDetailsService userDetailsService;
+
+	@MockBean
+	private PasswordEncoder passwordEncoder;
+
+	@MockBean
+	private UserCache userCache;
 	
 	@Autowired
 	private ObjectMapper objectMapper;
@@ -61,7 +111,10 @@ class ProductResourcesTests {
 		productDTO = Factory.createProductDTO();
 		page = new PageImpl<>(List.of(productDTO));
 		
-		when(service.findAllPaged(ArgumentMatchers.any())).thenReturn(page);
+		when(service.findAllPaged(ArgumentMatchers.any(), ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+				ArgumentMatchers.any(), ArgumentMatchers.anyBoolean())).thenReturn(page);
+		when(service.eTag(ArgumentMatchers.any(Slice.class))).thenReturn("0");
+		when(service.eTag(ArgumentMatchers.any(ProductDTO.class))).thenReturn("0-1");
 		when(service.findById(existingId)).thenReturn(productDTO);
 		when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
 		
@@ -73,19 +126,26 @@ class ProductResourcesTests {
 		doThrow(DatabaseException.class).when(service).delete(dependentID);
 		
 		when(service.insert(ArgumentMatchers.any())).thenReturn(productDTO);
+
+		when(readExecutor.submit(ArgumentMatchers.any())).thenAnswer(invocation -> {
+			Supplier<?> query = invocation.getArgument(0);
+			return CompletableFuture.supplyAsync(query, Runnable::run);
+		});
 	}
 	
 	@Test
 	void findAllshouldReturnPage() throws Exception {
-		ResultActions resultActions = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON));
+		MvcResult result = mockMvc.perform(get("/products").accept(MediaType.APPLICATION_JSON)).andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
 
 		resultActions.andExpect(status().isOk());
 	}
 	
 	@Test
 	void findByIdShouldReturnProductWhenExistsId() throws Exception {
-		ResultActions resultActions = mockMvc
-				.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON));
+		MvcResult result = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
 
 		resultActions.andExpect(status().isOk());
 		resultActions.andExpect(jsonPath("$.id").exists());
@@ -95,8 +155,9 @@ class ProductResourcesTests {
 
 	@Test
 	void findByIdShouldReturnNotFoundProductWhenDoesNotExistsId() throws Exception {
-		ResultActions resultActions = mockMvc
-				.perform(get("/products/{id}", nonExistingId).accept(MediaType.APPLICATION_JSON));
+		MvcResult result = mockMvc.perform(get("/products/{id}", nonExistingId).accept(MediaType.APPLICATION_JSON))
+				.andReturn();
+		ResultActions resultActions = mockMvc.perform(asyncDispatch(result));
 
 		resultActions.andExpect(status().isNotFound());
 	}
@@ -125,6 +186,20 @@ class ProductResourcesTests {
 
 	}
 	
+	@Test
+	void patchShouldReturnValidationErrorWhenMergedProductIsInvalid() throws Exception {
+		when(service.patch(ArgumentMatchers.eq(existingId), ArgumentMatchers.any()))
+				.thenThrow(new FieldValidationException("price", "Preço deve ser um valor positivo"));
+
+		ResultActions resultActions = mockMvc.perform(patch("/products/{id}", existingId).content("{\"price\": -1}")
+				.contentType("application/merge-patch+json").accept(MediaType.APPLICATION_JSON));
+
+		resultActions.andExpect(status().isBadRequest());
+		resultActions.andExpect(jsonPath("$.error").value("Validation exception"));
+		resultActions.andExpect(jsonPath("$.errors[0].fieldName").value("price"));
+		resultActions.andExpect(jsonPath("$.errors[0].message").value("Preço deve ser um valor positivo"));
+	}
+
 	@Test
 	void deleteShouldReturnNotFoundWhenIdDoesNotExistsId() throws Exception {
 
@@ -0,0 +1,212 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.entities.Job;
+import com.devsuperior.dscatalog.entities.JobStatus;
+import com.devsuperior.dscatalog.repositories.JobRepository;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.jobs.JobContext;
+import com.devsuperior.dscatalog.services.jobs.JobHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ JobService.class, JobServiceTests.Config.class })
+class JobServiceTests {
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		StepHandler stepHandler() {
+			return new StepHandler();
+		}
+	}
+
+	/**
+	 * Applies numbered steps, checkpointing each one, and can be held after
+	 * a step so the test can act while the job is running.
+	 */
+	static class StepHandler implements JobHandler {
+
+		final List<Integer> applied = new CopyOnWriteArrayList<>();
+		final List<String> startedFrom = new CopyOnWriteArrayList<>();
+		volatile CountDownLatch stepDone = new CountDownLatch(1);
+		volatile CountDownLatch proceed = new CountDownLatch(0);
+
+		@Override
+		public String getType() {
+			return "steps";
+		}
+
+		@Override
+		public void execute(JobContext context) {
+			startedFrom.add(String.valueOf(context.getCheckpoint()));
+			int steps = ((Number) context.getPayload(Map.class).get("steps")).intValue();
+			int next = context.getCheckpoint() == null ? 1 : Integer.parseInt(context.getCheckpoint()) + 1;
+			context.total(steps);
+			for (int step = next; step <= steps && !context.isCancelRequested(); step++) {
+				applied.add(step);
+				context.checkpoint(String.valueOf(step), 1);
+				stepDone.countDown();
+				try {
+					proceed.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	@Autowired
+	private JobService service;
+
+	@Autowired
+	private JobRepository repository;
+
+	@Autowired
+	private StepHandler handler;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		handler.applied.clear();
+		handler.startedFrom.clear();
+		handler.stepDone = new CountDownLatch(1);
+		handler.proceed = new CountDownLatch(0);
+	}
+
+	@Test
+	public void claimShouldMoveQueuedJobToRunningOnlyOnce() {
+		Long id = queued();
+
+		Assertions.assertEquals(1, repository.claim(id, Instant.now()));
+		Assertions.assertEquals(0, repository.claim(id, Instant.now()));
+
+		JobDTO job = service.findById(id);
+		Assertions.assertEquals(JobStatus.RUNNING, job.getStatus());
+		Assertions.assertNotNull(job.getStartedAt());
+	}
+
+	@Test
+	public void submitShouldRunJobToCompletion() throws Exception {
+		JobDTO job = await(service.submit("steps", Map.of("steps", 3)).getId());
+
+		Assertions.assertEquals(JobStatus.COMPLETED, job.getStatus());
+		Assertions.assertEquals(3, job.getTotal());
+		Assertions.assertEquals(3, job.getProcessed());
+		Assertions.assertEquals("3", job.getCheckpoint());
+		Assertions.assertNotNull(job.getFinishedAt());
+		Assertions.assertEquals(List.of(1, 2, 3), handler.applied);
+	}
+
+	@Test
+	public void submitShouldRejectUnknownType() {
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.submit("unknown", Map.of()));
+	}
+
+	@Test
+	public void cancelShouldCancelQueuedJobBeforeItRuns() {
+		Long id = queued();
+
+		JobDTO job = service.cancel(id);
+
+		Assertions.assertEquals(JobStatus.CANCELLED, job.getStatus());
+		Assertions.assertEquals(0, repository.claim(id, Instant.now()));
+		Assertions.assertTrue(handler.applied.isEmpty());
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.cancel(id));
+	}
+
+	@Test
+	public void cancelShouldStopRunningJobAndResumeShouldContinueFromCheckpoint() throws Exception {
+		handler.proceed = new CountDownLatch(1);
+		Long id = service.submit("steps", Map.of("steps", 3)).getId();
+		Assertions.assertTrue(handler.stepDone.await(5, TimeUnit.SECONDS));
+
+		JobDTO requested = service.cancel(id);
+		Assertions.assertEquals(JobStatus.RUNNING, requested.getStatus());
+		Assertions.assertTrue(requested.isCancelRequested());
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.resume(id));
+
+		handler.proceed.countDown();
+		JobDTO cancelled = await(id);
+		Assertions.assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+		Assertions.assertEquals("1", cancelled.getCheckpoint());
+
+		JobDTO resumed = service.resume(id);
+		Assertions.assertFalse(resumed.isCancelRequested());
+		JobDTO completed = await(id);
+
+		Assertions.assertEquals(JobStatus.COMPLETED, completed.getStatus());
+		Assertions.assertEquals(3, completed.getProcessed());
+		Assertions.assertEquals(List.of(1, 2, 3), handler.applied);
+		Assertions.assertEquals(List.of("null", "1"), handler.startedFrom);
+	}
+
+	@Test
+	public void recoverShouldRequeueRunningJobsAndResumeFromCheckpoint() throws Exception {
+		Long id = queued();
+		repository.claim(id, Instant.now());
+		repository.checkpoint(id, "2", 2, Instant.now());
+
+		service.recover();
+		JobDTO job = await(id);
+
+		Assertions.assertEquals(JobStatus.COMPLETED, job.getStatus());
+		Assertions.assertEquals(3, job.getProcessed());
+		Assertions.assertEquals(List.of(3), handler.applied);
+		Assertions.assertEquals(List.of("2"), handler.startedFrom);
+	}
+
+	@Test
+	public void resumeShouldRejectCompletedJob() throws Exception {
+		Long id = await(service.submit("steps", Map.of("steps", 1)).getId()).getId();
+
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.resume(id));
+	}
+
+	private Long queued() {
+		return repository.save(new Job("steps", "{\"steps\": 3}")).getId();
+	}
+
+	private JobDTO await(Long id) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		JobDTO job = service.findById(id);
+		while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			job = service.findById(id);
+		}
+		return job;
+	}
+}
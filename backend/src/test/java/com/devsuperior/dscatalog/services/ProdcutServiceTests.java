@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validator;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,22 +14,34 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.devsuperior.dscatalog.dto.CategoryDTO;
 import com.devsuperior.dscatalog.dto.ProductDTO;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.cache.CategoryFacetCounters;
+import com.devsuperior.dscatalog.services.cache.CategorySnapshot;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
 import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.services.pagination.CountMode;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
 import com.devsuperior.dscatalog.tests.Factory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @ExtendWith(SpringExtension.class)
 class ProdcutServiceTests {
@@ -41,6 +54,24 @@ class ProdcutServiceTests {
 	
 	@Mock
 	private CategoryRepository categoryRepository;
+
+	@Mock
+	private TableCounters tableCounters;
+
+	@Mock
+	private CategorySnapshot categorySnapshot;
+
+	@Mock
+	private CategoryFacetCounters facetCounters;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@Mock
+	private Validator validator;
 	
 	private long existingId;
 	
@@ -70,6 +101,7 @@ class ProdcutServiceTests {
 		Mockito.when(repository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
 
 		Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(product);
+		Mockito.when(repository.saveAndFlush(ArgumentMatchers.any())).thenReturn(product);
 
 		Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(product));
 
@@ -128,6 +160,40 @@ class ProdcutServiceTests {
 		Mockito.verify(repository,Mockito.times(1)).findAll(pageable);
 	}
 
+	@Test
+	void findAllPagedWithCategoriesShouldFetchCategoriesOnceForWholePage() {
+		Pageable pageable = PageRequest.of(0, 10);
+
+		Slice<ProductDTO> result = service.findAllPaged(pageable, CountMode.EXACT, true);
+
+		Assertions.assertEquals(1, result.getContent().get(0).getCategories().size());
+		Mockito.verify(repository, Mockito.times(1)).findProductsWithCategories(page.getContent());
+	}
+
+	@Test
+	void findAllPagedWithoutCountShouldNotCountRows() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Mockito.when(repository.findAllSliced(pageable)).thenReturn(new SliceImpl<>(List.of(product)));
+
+		Slice<ProductDTO> result = service.findAllPaged(pageable, CountMode.NONE, false);
+
+		Assertions.assertFalse(result instanceof Page);
+		Mockito.verify(repository, Mockito.never()).findAll(pageable);
+		Mockito.verify(repository, Mockito.never()).count();
+	}
+
+	@Test
+	void findAllPagedApproximateShouldTakeTotalFromCounters() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Mockito.when(repository.findAllSliced(pageable)).thenReturn(page);
+		Mockito.when(tableCounters.count(Product.class)).thenReturn(1000L);
+
+		Slice<ProductDTO> result = service.findAllPaged(pageable, CountMode.APPROXIMATE, false);
+
+		Assertions.assertEquals(1000L, ((Page<ProductDTO>) result).getTotalElements());
+		Mockito.verify(repository, Mockito.never()).count();
+	}
+
 	@Test
 	void findByIdShouldReturnProductDTOWhenIdExist() {
 
@@ -137,6 +203,17 @@ class ProdcutServiceTests {
 
 	}
 
+	@Test
+	void eTagShouldChangeWhenCategoriesChange() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setVersion(3);
+		Mockito.when(categorySnapshot.getGeneration()).thenReturn(1L, 2L);
+
+		Assertions.assertEquals("3-1", service.eTag(dto));
+		Assertions.assertEquals("3-2", service.eTag(dto));
+		Mockito.verifyNoInteractions(repository);
+	}
+
 	@Test
 	void findByIdShouldThrowResourceNotFoundWhenDoesNotIdExist() {
 
@@ -165,4 +242,52 @@ class ProdcutServiceTests {
 		});
 
 	}
+
+	@Test
+	void updateShouldThrowOptimisticLockingFailureWhenVersionIsStale() {
+		productDTO.setVersion(5);
+
+		Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+
+			service.update(existingId, productDTO);
+		});
+
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(ArgumentMatchers.any());
+	}
+
+	@Test
+	void updateShouldKeepUnchangedCategoryLinks() {
+		Category linked = product.getCategories().iterator().next();
+		productDTO.getCategories().add(new CategoryDTO(linked));
+		Mockito.when(categorySnapshot.contains(linked.getId())).thenReturn(true);
+
+		service.update(existingId, productDTO);
+
+		Assertions.assertSame(linked, product.getCategories().iterator().next());
+		Mockito.verify(categoryRepository, Mockito.never()).getOne(ArgumentMatchers.any());
+	}
+
+	@Test
+	void patchShouldChangeOnlySuppliedFields() {
+		Category linked = product.getCategories().iterator().next();
+		ObjectNode patch = objectMapper.createObjectNode().put("price", 750.0);
+
+		ProductDTO result = service.patch(existingId, patch);
+
+		Assertions.assertEquals(750.0, result.getPrice());
+		Assertions.assertEquals("Phone", product.getName());
+		Assertions.assertSame(linked, product.getCategories().iterator().next());
+		Mockito.verify(categoryRepository, Mockito.never()).getOne(ArgumentMatchers.any());
+		Mockito.verify(facetCounters, Mockito.never()).adjust(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+
+	@Test
+	void patchShouldThrowResourceNotFoundWhenDoesNotIdExist() {
+		ObjectNode patch = objectMapper.createObjectNode().put("price", 750.0);
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+
+			service.patch(nonExistingId, patch);
+		});
+	}
 }
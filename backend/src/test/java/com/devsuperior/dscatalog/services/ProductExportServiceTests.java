@@ -0,0 +1,67 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.tests.Factory;
+
+@SpringBootTest
+class ProductExportServiceTests {
+
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository repository;
+
+	private final List<Long> created = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		created.forEach(productService::delete);
+	}
+
+	@Test
+	public void scanShouldFoldCategoryRowsIntoOneProduct() throws Exception {
+		Long multi = insert(List.of(new CategoryDTO(1L, null), new CategoryDTO(3L, null)));
+		Long none = insert(List.of());
+
+		List<ProductDTO> scanned = new ArrayList<>();
+		long count = exportService.scan(scanned::add);
+
+		Assertions.assertEquals(repository.count(), count);
+		Assertions.assertEquals(count, scanned.size());
+		Assertions.assertEquals(scanned.stream().map(ProductDTO::getId).distinct().count(), scanned.size());
+		ProductDTO product = find(scanned, multi);
+		Assertions.assertEquals(List.of(1L, 3L),
+				product.getCategories().stream().map(CategoryDTO::getId).sorted().collect(Collectors.toList()));
+		Assertions.assertTrue(find(scanned, none).getCategories().isEmpty());
+	}
+
+	private Long insert(List<CategoryDTO> categories) {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+		dto.getCategories().clear();
+		dto.getCategories().addAll(categories);
+		Long id = productService.insert(dto).getId();
+		created.add(id);
+		return id;
+	}
+
+	private static ProductDTO find(List<ProductDTO> products, Long id) {
+		return products.stream().filter(x -> x.getId().equals(id)).findFirst().orElseThrow();
+	}
+}
@@ -0,0 +1,115 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devsuperior.dscatalog.dto.BulkImportResultDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.services.cache.CategoryFacetCounters;
+import com.devsuperior.dscatalog.services.exceptions.DatabaseException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+
+@SpringBootTest
+class ProductImportServiceTests {
+
+	private static final String NAME_PREFIX = "Imported ";
+
+	@Autowired
+	private ProductImportService service;
+
+	@Autowired
+	private TableCounters tableCounters;
+
+	@Autowired
+	private CategoryFacetCounters facetCounters;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long countBefore;
+
+	private long facetBefore;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		countBefore = tableCounters.count(Product.class);
+		facetBefore = facetCounters.counts().getOrDefault(2L, 0L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM tb_product_category WHERE product_id IN (SELECT id FROM tb_product WHERE name LIKE ?)",
+				NAME_PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM tb_product WHERE name LIKE ?", NAME_PREFIX + "%");
+		tableCounters.refresh();
+		facetCounters.refresh();
+	}
+
+	@Test
+	public void importProductsShouldInsertValidItemsAndRejectInvalidOnes() {
+		String input = item(1, "https://img.com/1.png") + item(2, "https://img.com/2.png")
+				+ "{\"name\": \"X\", \"price\": 10.0}\n" + item(3, "https://img.com/3.png");
+
+		BulkImportResultDTO result = service.importProducts(stream(input), 2, 1);
+
+		Assertions.assertEquals(4, result.getReceived());
+		Assertions.assertEquals(3, result.getInserted());
+		Assertions.assertEquals(1, result.getRejected());
+		Assertions.assertEquals(2, result.getErrors().get(0).getIndex());
+		Assertions.assertEquals(2, result.getChunks().size());
+		Assertions.assertEquals(3, importedRows());
+		Assertions.assertEquals(countBefore + 3, tableCounters.count(Product.class));
+		Assertions.assertEquals(facetBefore + 3, facetCounters.counts().get(2L));
+	}
+
+	@Test
+	public void importProductsShouldKeepCommittedGroupsWhenLaterGroupViolatesIntegrity() {
+		String tooLong = "https://img.com/" + "x".repeat(300) + ".png";
+		String input = item(1, "https://img.com/1.png") + item(2, "https://img.com/2.png")
+				+ item(3, "https://img.com/3.png") + item(4, "https://img.com/4.png") + item(5, tooLong)
+				+ item(6, "https://img.com/6.png");
+
+		DatabaseException e = Assertions.assertThrows(DatabaseException.class,
+				() -> service.importProducts(stream(input), 2, 1));
+
+		Assertions.assertEquals("Integrity violation (4 items already imported)", e.getMessage());
+		Assertions.assertEquals(4, importedRows());
+		Assertions.assertEquals(countBefore + 4, tableCounters.count(Product.class));
+		Assertions.assertEquals(facetBefore + 4, facetCounters.counts().get(2L));
+	}
+
+	@Test
+	public void importProductsShouldReportImportedCountOnMalformedInput() {
+		String input = item(1, "https://img.com/1.png") + item(2, "https://img.com/2.png") + "{\"name\": ";
+
+		InvalidRequestException e = Assertions.assertThrows(InvalidRequestException.class,
+				() -> service.importProducts(stream(input), 2, 1));
+
+		Assertions.assertTrue(e.getMessage().startsWith("Malformed input at item 2 (2 items already imported)"));
+		Assertions.assertEquals(2, importedRows());
+		Assertions.assertEquals(countBefore + 2, tableCounters.count(Product.class));
+	}
+
+	private long importedRows() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product WHERE name LIKE ?", Long.class,
+				NAME_PREFIX + "%");
+	}
+
+	private static String item(int n, String imgUrl) {
+		return "{\"name\": \"" + NAME_PREFIX + n + "\", \"description\": \"Imported product\", \"price\": 10.5, "
+				+ "\"imgUrl\": \"" + imgUrl + "\", \"date\": \"2021-01-01T00:00:00Z\", \"categories\": [{\"id\": 2}]}\n";
+	}
+
+	private static ByteArrayInputStream stream(String input) {
+		return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,133 @@
+package com.devsuperior.dscatalog.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.JobDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.dto.RepriceDTO;
+import com.devsuperior.dscatalog.entities.Job;
+import com.devsuperior.dscatalog.entities.JobStatus;
+import com.devsuperior.dscatalog.repositories.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+class ProductRepriceServiceTests {
+
+	@Autowired
+	private ProductRepriceService service;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Cache cache;
+
+	private Long categoryId;
+
+	private List<Long> repriced;
+
+	private Long untouched;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = cacheManager.getCache("products");
+		categoryId = categoryService.insert(new CategoryDTO(null, "Reprice")).getId();
+		repriced = new ArrayList<>();
+		repriced.add(productService.insert(product("Reprice A", 10.0, categoryId)).getId());
+		repriced.add(productService.insert(product("Reprice B", 19.99, categoryId)).getId());
+		repriced.add(productService.insert(product("Reprice C", 33.33, categoryId)).getId());
+		untouched = productService.insert(product("Reprice D", 50.0, 1L)).getId();
+		repriced.forEach(productService::findById);
+		productService.findById(untouched);
+	}
+
+	@AfterEach
+	void tearDown() {
+		repriced.forEach(productService::delete);
+		productService.delete(untouched);
+		categoryService.delete(categoryId);
+	}
+
+	@Test
+	public void repriceShouldUpdateCategoryPricesBumpVersionsAndEvictCache() throws Exception {
+		JobDTO job = await(service.submit(new RepriceDTO(12.5, categoryId, null, null, null)).getId());
+
+		Assertions.assertEquals(JobStatus.COMPLETED, job.getStatus());
+		Assertions.assertEquals(3, job.getTotal());
+		Assertions.assertEquals(3, job.getProcessed());
+		Assertions.assertEquals(String.valueOf(repriced.get(2)), job.getCheckpoint());
+		repriced.forEach(id -> Assertions.assertNull(cache.get(id)));
+		Assertions.assertNotNull(cache.get(untouched));
+
+		assertPrice(repriced.get(0), 11.25, 1);
+		assertPrice(repriced.get(1), 22.49, 1);
+		assertPrice(repriced.get(2), 37.5, 1);
+		assertPrice(untouched, 50.0, 0);
+	}
+
+	@Test
+	public void resumeShouldContinueAfterCheckpointWithoutRepricingCommittedChunks() throws Exception {
+		String payload = objectMapper.writeValueAsString(new RepriceDTO(10.0, categoryId, null, null, null));
+		Long jobId = jobRepository.save(new Job(ProductRepriceService.JOB_TYPE, payload)).getId();
+		jobRepository.checkpoint(jobId, String.valueOf(repriced.get(1)), 2, Instant.now());
+		jobService.cancel(jobId);
+
+		jobService.resume(jobId);
+		JobDTO job = await(jobId);
+
+		Assertions.assertEquals(JobStatus.COMPLETED, job.getStatus());
+		Assertions.assertEquals(3, job.getProcessed());
+		assertPrice(repriced.get(0), 10.0, 0);
+		assertPrice(repriced.get(1), 19.99, 0);
+		assertPrice(repriced.get(2), 36.66, 1);
+	}
+
+	private void assertPrice(Long id, double price, int version) {
+		ProductDTO dto = productService.findById(id);
+		Assertions.assertEquals(price, dto.getPrice(), 0.0);
+		Assertions.assertEquals(version, dto.getVersion());
+	}
+
+	private JobDTO await(Long jobId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		JobDTO job = jobService.findById(jobId);
+		while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			job = jobService.findById(jobId);
+		}
+		return job;
+	}
+
+	private static ProductDTO product(String name, double price, Long categoryId) {
+		ProductDTO dto = new ProductDTO(null, name, "Reprice test", price, "https://img.com/img.png",
+				Instant.parse("2021-01-01T00:00:00Z"));
+		dto.getCategories().add(new CategoryDTO(categoryId, null));
+		return dto;
+	}
+}
@@ -0,0 +1,100 @@
+package com.devsuperior.dscatalog.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscatalog.tests.Factory;
+
+@SpringBootTest
+class ProductServiceCacheTests {
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private Cache cache;
+
+	private Long productId;
+
+	private Long categoryId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = cacheManager.getCache("products");
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+		productId = service.insert(dto).getId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		try {
+			service.delete(productId);
+		} catch (ResourceNotFoundException e) {
+			// already deleted by the test
+		}
+		if (categoryId != null) {
+			categoryService.delete(categoryId);
+		}
+	}
+
+	@Test
+	public void findByIdShouldCacheResult() {
+		ProductDTO first = service.findById(productId);
+		ProductDTO second = service.findById(productId);
+
+		Assertions.assertSame(first, second);
+		Assertions.assertNotNull(cache.get(productId));
+	}
+
+	@Test
+	public void updateShouldEvictEntry() {
+		ProductDTO cached = service.findById(productId);
+		ProductDTO changed = Factory.createProductDTO();
+		changed.setId(productId);
+		changed.setVersion(cached.getVersion());
+		changed.setName("Phone X");
+
+		service.update(productId, changed);
+
+		Assertions.assertNull(cache.get(productId));
+		Assertions.assertNotEquals("Phone X", cached.getName());
+		Assertions.assertEquals("Phone X", service.findById(productId).getName());
+	}
+
+	@Test
+	public void deleteShouldEvictEntry() {
+		service.findById(productId);
+
+		service.delete(productId);
+
+		Assertions.assertNull(cache.get(productId));
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(productId));
+	}
+
+	@Test
+	public void categoryUpdateShouldEvictAllEntries() {
+		categoryId = categoryService.insert(new CategoryDTO(null, "Quokkas")).getId();
+		service.findById(productId);
+		service.findById(1L);
+
+		categoryService.update(categoryId, new CategoryDTO(categoryId, "Quokkas e Cia"));
+
+		Assertions.assertNull(cache.get(productId));
+		Assertions.assertNull(cache.get(1L));
+	}
+}
@@ -0,0 +1,222 @@
+package com.devsuperior.dscatalog.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.devsuperior.dscatalog.dto.ProductUpdateDTO;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+class ProductStreamServiceTests {
+
+	@InjectMocks
+	private ProductStreamService service;
+
+	@Mock
+	private ProductRepository repository;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private volatile double price;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ReflectionTestUtils.setField(service, "maxIds", 3);
+		ReflectionTestUtils.setField(service, "bufferSize", 2);
+		ReflectionTestUtils.setField(service, "threads", 1);
+		ReflectionTestUtils.setField(service, "timeout", Duration.ofMinutes(1));
+		service.init();
+		service = Mockito.spy(service);
+		price = 100.0;
+
+		Mockito.when(repository.findPricesByIds(ArgumentMatchers.any())).thenAnswer(invocation -> {
+			List<Object[]> rows = new ArrayList<>();
+			for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+				rows.add(new Object[] { id, "Product " + id, price, 0 });
+			}
+			return rows;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	public void subscribeShouldThrowInvalidRequestExceptionWhenIdsAreEmptyOrTooMany() {
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.subscribe(List.of()));
+		Assertions.assertThrows(InvalidRequestException.class, () -> service.subscribe(List.of(1L, 2L, 3L, 4L)));
+	}
+
+	@Test
+	public void subscribeShouldStartWithCurrentStateOfEachProduct() throws Exception {
+		RecordingEmitter emitter = subscribe(1L, 2L);
+
+		List<ProductUpdateDTO> updates = emitter.await(2);
+
+		Assertions.assertEquals(List.of(1L, 2L), ids(updates));
+		Assertions.assertEquals(ChangeType.UPDATED, updates.get(0).getType());
+		Assertions.assertEquals(100.0, updates.get(0).getPrice());
+	}
+
+	@Test
+	public void onProductChangedShouldFanOutToWatchersOnly() throws Exception {
+		RecordingEmitter first = subscribe(1L);
+		RecordingEmitter second = subscribe(1L, 2L);
+		RecordingEmitter other = subscribe(3L);
+		first.await(1);
+		second.await(2);
+		other.await(1);
+		Mockito.clearInvocations(repository);
+		price = 90.0;
+
+		service.onProductChanged(new ProductChangedEvent(List.of(1L, 4L), ChangeType.UPDATED));
+
+		Assertions.assertEquals(90.0, first.await(2).get(1).getPrice());
+		Assertions.assertEquals(90.0, second.await(3).get(2).getPrice());
+		Mockito.verify(repository).findPricesByIds(List.of(1L));
+		Assertions.assertEquals(1, other.updates.size());
+	}
+
+	@Test
+	public void onProductChangedShouldSendDeletedWithoutQuerying() throws Exception {
+		RecordingEmitter emitter = subscribe(1L);
+		emitter.await(1);
+		Mockito.clearInvocations(repository);
+
+		service.onProductChanged(new ProductChangedEvent(1L, ChangeType.DELETED));
+
+		ProductUpdateDTO update = emitter.await(2).get(1);
+		Assertions.assertEquals(ChangeType.DELETED, update.getType());
+		Assertions.assertNull(update.getPrice());
+		Mockito.verify(repository, Mockito.never()).findPricesByIds(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void offerShouldDropOldestUpdateWhenClientFallsBehind() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingEmitter blocking = new RecordingEmitter(release);
+		Mockito.doReturn(blocking).when(service).createEmitter();
+		service.subscribe(List.of(1L));
+		Assertions.assertTrue(blocking.sending.await(5, TimeUnit.SECONDS));
+
+		// the only sender thread is stuck on the first client, so updates for this one pile up
+		RecordingEmitter slow = subscribe(2L);
+		price = 90.0;
+		service.onProductChanged(new ProductChangedEvent(2L, ChangeType.UPDATED));
+		price = 80.0;
+		service.onProductChanged(new ProductChangedEvent(2L, ChangeType.UPDATED));
+		release.countDown();
+
+		List<ProductUpdateDTO> updates = slow.await(2);
+		Assertions.assertEquals(90.0, updates.get(0).getPrice());
+		Assertions.assertEquals(80.0, updates.get(1).getPrice());
+		Assertions.assertEquals(1.0, meterRegistry.get("products.stream.dropped").counter().count());
+	}
+
+	@Test
+	public void failedSendShouldUnsubscribeClient() throws Exception {
+		RecordingEmitter broken = new RecordingEmitter(null);
+		broken.fail = true;
+		Mockito.doReturn(broken).when(service).createEmitter();
+		service.subscribe(List.of(1L));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (connections() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Mockito.clearInvocations(repository);
+		service.onProductChanged(new ProductChangedEvent(1L, ChangeType.UPDATED));
+
+		Assertions.assertEquals(0.0, connections());
+		Assertions.assertEquals(0.0, meterRegistry.get("products.stream.subscribed.products").gauge().value());
+		Assertions.assertEquals(1.0, meterRegistry.get("products.stream.disconnected").counter().count());
+		Mockito.verify(repository, Mockito.never()).findPricesByIds(ArgumentMatchers.any());
+	}
+
+	private RecordingEmitter subscribe(Long... ids) {
+		RecordingEmitter emitter = new RecordingEmitter(null);
+		Mockito.doReturn(emitter).when(service).createEmitter();
+		service.subscribe(List.of(ids));
+		return emitter;
+	}
+
+	private double connections() {
+		return meterRegistry.get("products.stream.connections").gauge().value();
+	}
+
+	private static List<Long> ids(List<ProductUpdateDTO> updates) {
+		List<Long> result = new ArrayList<>();
+		updates.forEach(x -> result.add(x.getId()));
+		return result;
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+
+		private final List<ProductUpdateDTO> updates = new CopyOnWriteArrayList<>();
+		private final CountDownLatch sending = new CountDownLatch(1);
+		private final CountDownLatch release;
+		private volatile boolean fail;
+
+		RecordingEmitter(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			if (fail) {
+				throw new IOException("Broken pipe");
+			}
+			if (release != null) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			for (DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof ProductUpdateDTO) {
+					updates.add((ProductUpdateDTO) data.getData());
+				}
+			}
+		}
+
+		List<ProductUpdateDTO> await(int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5_000;
+			while (updates.size() < count && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			Assertions.assertEquals(count, updates.size());
+			return new ArrayList<>(updates);
+		}
+	}
+}
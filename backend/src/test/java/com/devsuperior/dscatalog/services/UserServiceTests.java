@@ -0,0 +1,176 @@
+package com.devsuperior.dscatalog.services;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.devsuperior.dscatalog.dto.RoleDTO;
+import com.devsuperior.dscatalog.dto.UserDTO;
+import com.devsuperior.dscatalog.entities.Role;
+import com.devsuperior.dscatalog.entities.User;
+import com.devsuperior.dscatalog.repositories.RoleRepository;
+import com.devsuperior.dscatalog.repositories.UserRepository;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
+import com.devsuperior.dscatalog.services.exceptions.FieldValidationException;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.devsuperior.dscatalog.services.pagination.TableCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@ExtendWith(SpringExtension.class)
+class UserServiceTests {
+
+	@InjectMocks
+	private UserService service;
+
+	@Mock
+	private UserRepository repository;
+
+	@Mock
+	private RoleRepository roleRepository;
+
+	@Mock
+	private PasswordEncoder passwordEncoder;
+
+	@Mock
+	private TableCounters tableCounters;
+
+	@Mock
+	private UserCache userCache;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	private long existingId;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		existingId = 1L;
+		user = new User(existingId, "Maria", "Green", "maria@gmail.com", "secret");
+		user.getRoles().add(new Role(1L, "ROLE_OPERATOR"));
+		user.getRoles().add(new Role(2L, "ROLE_ADMIN"));
+
+		Mockito.when(repository.getOne(existingId)).thenReturn(user);
+		Mockito.when(repository.saveAndFlush(ArgumentMatchers.any())).then(AdditionalAnswers.returnsFirstArg());
+		Mockito.when(roleRepository.getOne(3L)).thenReturn(new Role(3L, "ROLE_AUDITOR"));
+	}
+
+	@Test
+	public void patchShouldOnlyChangePresentFields() throws Exception {
+		UserDTO result = service.patch(existingId, patch("{\"firstName\": \"Ana\"}"));
+
+		Assertions.assertEquals("Ana", result.getFirstName());
+		Assertions.assertEquals("Green", result.getLastName());
+		Assertions.assertEquals("maria@gmail.com", result.getEmail());
+		Assertions.assertEquals(Set.of(1L, 2L), roleIds(result));
+		Mockito.verify(repository, Mockito.never()).findByEmail(ArgumentMatchers.any());
+		Mockito.verify(eventPublisher).publishEvent(ArgumentMatchers.any(UserChangedEvent.class));
+	}
+
+	@Test
+	public void patchShouldRejectEmailOwnedByAnotherUser() throws Exception {
+		Mockito.when(repository.findByEmail("alex@gmail.com"))
+				.thenReturn(new User(2L, "Alex", "Brown", "alex@gmail.com", "secret"));
+
+		FieldValidationException e = Assertions.assertThrows(FieldValidationException.class,
+				() -> service.patch(existingId, patch("{\"email\": \"alex@gmail.com\"}")));
+
+		Assertions.assertEquals(List.of("Email já cadastrado"), e.getErrors().get("email"));
+		Assertions.assertEquals("maria@gmail.com", user.getEmail());
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void patchShouldAcceptEmailOwnedBySameUser() throws Exception {
+		Mockito.when(repository.findByEmail("maria@gmail.com")).thenReturn(user);
+
+		UserDTO result = service.patch(existingId, patch("{\"email\": \"maria@gmail.com\"}"));
+
+		Assertions.assertEquals("maria@gmail.com", result.getEmail());
+	}
+
+	@Test
+	public void patchShouldAcceptUnusedEmail() throws Exception {
+		UserDTO result = service.patch(existingId, patch("{\"email\": \"maria.green@gmail.com\"}"));
+
+		Assertions.assertEquals("maria.green@gmail.com", result.getEmail());
+	}
+
+	@Test
+	public void patchShouldValidateMergedUser() throws Exception {
+		FieldValidationException e = Assertions.assertThrows(FieldValidationException.class,
+				() -> service.patch(existingId, patch("{\"email\": \"not-an-email\", \"firstName\": \"\"}")));
+
+		Assertions.assertEquals("email: Favor entrar um email válido; firstName: Campo obrigatório", e.getMessage());
+		Assertions.assertEquals(List.of("email", "firstName"), List.copyOf(e.getErrors().keySet()));
+		Mockito.verify(repository, Mockito.never()).saveAndFlush(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void patchShouldApplyRolesDiff() throws Exception {
+		UserDTO result = service.patch(existingId, patch("{\"roles\": [{\"id\": 2}, {\"id\": 3}]}"));
+
+		Assertions.assertEquals(Set.of(2L, 3L), roleIds(result));
+		Mockito.verify(roleRepository).getOne(3L);
+		Mockito.verify(roleRepository, Mockito.never()).getOne(2L);
+	}
+
+	@Test
+	public void patchShouldClearRolesWhenNull() throws Exception {
+		UserDTO result = service.patch(existingId, patch("{\"roles\": null}"));
+
+		Assertions.assertTrue(result.getRoles().isEmpty());
+		Mockito.verifyNoInteractions(roleRepository);
+	}
+
+	@Test
+	public void patchShouldRejectStaleVersion() throws Exception {
+		Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,
+				() -> service.patch(existingId, patch("{\"version\": 7, \"firstName\": \"Ana\"}")));
+
+		Assertions.assertEquals("Maria", user.getFirstName());
+	}
+
+	@Test
+	public void patchShouldRejectMalformedPatch() throws Exception {
+		InvalidRequestException e = Assertions.assertThrows(InvalidRequestException.class,
+				() -> service.patch(existingId, patch("{\"roles\": \"admin\"}")));
+
+		Assertions.assertTrue(e.getMessage().startsWith("Malformed patch: "));
+	}
+
+	private ObjectNode patch(String json) throws Exception {
+		return (ObjectNode) objectMapper.readTree(json);
+	}
+
+	private static Set<Long> roleIds(UserDTO dto) {
+		return dto.getRoles().stream().map(RoleDTO::getId).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,150 @@
+package com.devsuperior.dscatalog.services.async;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.devsuperior.dscatalog.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadExecutorTests {
+
+	private SimpleMeterRegistry registry;
+
+	private ReadExecutor executor;
+
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		registry = new SimpleMeterRegistry();
+		executor = new ReadExecutor();
+		ReflectionTestUtils.setField(executor, "meterRegistry", registry);
+		ReflectionTestUtils.setField(executor, "threads", 1);
+		ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+		ReflectionTestUtils.setField(executor, "timeout", Duration.ofMillis(200));
+		ReflectionTestUtils.setField(executor, "connectionReserve", 1);
+		ReflectionTestUtils.setField(executor, "connectionPoolSize", 2);
+		executor.init();
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	public void submitShouldCompleteWithQueryResult() throws Exception {
+		Assertions.assertEquals("ok", executor.submit(() -> "ok").get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void submitShouldThrowServiceUnavailableExceptionWhenQueueIsFull() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		executor.submit(() -> block(running));
+		Assertions.assertTrue(running.await(1, TimeUnit.SECONDS));
+		executor.submit(() -> "queued");
+
+		Assertions.assertThrows(ServiceUnavailableException.class, () -> executor.submit(() -> "rejected"));
+		Assertions.assertEquals(1.0, registry.get("reads.rejected").counter().count());
+	}
+
+	@Test
+	public void submitShouldSkipReadThatTimedOutInQueue() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		executor.submit(() -> block(running));
+		Assertions.assertTrue(running.await(1, TimeUnit.SECONDS));
+		AtomicBoolean ran = new AtomicBoolean();
+		CompletableFuture<String> queued = executor.submit(() -> {
+			ran.set(true);
+			return "late";
+		});
+
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+				() -> queued.get(1, TimeUnit.SECONDS));
+		Assertions.assertTrue(e.getCause() instanceof ServiceUnavailableException);
+
+		release.countDown();
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (registry.get("reads.expired").counter().count() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals("next", executor.submit(() -> "next").get(1, TimeUnit.SECONDS));
+		Assertions.assertFalse(ran.get());
+		Assertions.assertEquals(1.0, registry.get("reads.expired").counter().count());
+	}
+
+	@Test
+	public void submitInlineShouldRunOnCallingThread() throws Exception {
+		ReadExecutor inline = inlineExecutor();
+
+		Assertions.assertEquals(Thread.currentThread().getName(),
+				inline.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void submitInlineShouldGiveUpWhenNoPermitFreesInTime() throws Exception {
+		ReadExecutor inline = inlineExecutor();
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture.runAsync(() -> inline.submit(() -> block(running)));
+		Assertions.assertTrue(running.await(1, TimeUnit.SECONDS));
+		AtomicBoolean ran = new AtomicBoolean();
+
+		CompletableFuture<String> waited = inline.submit(() -> {
+			ran.set(true);
+			return "late";
+		});
+
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> waited.get(1, TimeUnit.SECONDS));
+		Assertions.assertTrue(e.getCause() instanceof ServiceUnavailableException);
+		Assertions.assertFalse(ran.get());
+		Assertions.assertEquals(1.0, registry.get("reads.expired").counter().count());
+	}
+
+	@Test
+	public void initShouldFailWhenReadsWouldTakeReservedConnections() {
+		ReadExecutor tooBig = new ReadExecutor();
+		ReflectionTestUtils.setField(tooBig, "meterRegistry", registry);
+		ReflectionTestUtils.setField(tooBig, "threads", 10);
+		ReflectionTestUtils.setField(tooBig, "queueCapacity", 1);
+		ReflectionTestUtils.setField(tooBig, "connectionReserve", 4);
+		ReflectionTestUtils.setField(tooBig, "connectionPoolSize", 10);
+
+		Assertions.assertThrows(IllegalStateException.class, tooBig::init);
+	}
+
+	private ReadExecutor inlineExecutor() {
+		ReadExecutor inline = new ReadExecutor();
+		ReflectionTestUtils.setField(inline, "meterRegistry", registry);
+		ReflectionTestUtils.setField(inline, "inline", true);
+		ReflectionTestUtils.setField(inline, "threads", 1);
+		ReflectionTestUtils.setField(inline, "queueCapacity", 1);
+		ReflectionTestUtils.setField(inline, "timeout", Duration.ofMillis(200));
+		ReflectionTestUtils.setField(inline, "connectionReserve", 1);
+		ReflectionTestUtils.setField(inline, "connectionPoolSize", 2);
+		inline.init();
+		return inline;
+	}
+
+	private String block(CountDownLatch running) {
+		running.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "blocked";
+	}
+}
@@ -0,0 +1,124 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ChangeType;
+
+@ExtendWith(SpringExtension.class)
+class CategorySnapshotTests {
+
+	@InjectMocks
+	private CategorySnapshot snapshot;
+
+	@Mock
+	private CategoryRepository repository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private Category books;
+
+	private Category computers;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		books = new Category(1L, "Livros");
+		books.prePersist();
+		computers = new Category(3L, "Computadores");
+		computers.prePersist();
+		Mockito.when(repository.findAll(ArgumentMatchers.any(Sort.class))).thenReturn(List.of(books, computers));
+	}
+
+	@Test
+	public void getShouldLoadSnapshotOnceOnFirstAccess() {
+		Assertions.assertEquals("Livros", snapshot.get(1L).get().getName());
+		Assertions.assertTrue(snapshot.contains(3L));
+		Assertions.assertFalse(snapshot.contains(2L));
+
+		Mockito.verify(repository, Mockito.times(1)).findAll(ArgumentMatchers.any(Sort.class));
+	}
+
+	@Test
+	public void reloadShouldReplaceSnapshotAndChangeGeneration() {
+		long generation = snapshot.getGeneration();
+		Mockito.when(repository.findAll(ArgumentMatchers.any(Sort.class))).thenReturn(List.of(books));
+
+		snapshot.reload();
+
+		Assertions.assertNotEquals(generation, snapshot.getGeneration());
+		Assertions.assertFalse(snapshot.contains(3L));
+		Assertions.assertEquals(books.getCreatedAt(), snapshot.getLastModified());
+	}
+
+	@Test
+	public void onCategoryChangedShouldSwapUpdatedEntry() {
+		CategoryDTO before = snapshot.get(1L).get();
+		long generation = snapshot.getGeneration();
+		Category renamed = new Category(1L, "Livros e Revistas");
+		renamed.prePersist();
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(renamed));
+
+		snapshot.onCategoryChanged(new CategoryChangedEvent(1L, ChangeType.UPDATED));
+
+		Assertions.assertEquals("Livros", before.getName());
+		Assertions.assertEquals("Livros e Revistas", snapshot.get(1L).get().getName());
+		Assertions.assertNotEquals(generation, snapshot.getGeneration());
+		Assertions.assertFalse(snapshot.getLastModified().isBefore(renamed.getCreatedAt()));
+		Mockito.verify(repository, Mockito.times(1)).findAll(ArgumentMatchers.any(Sort.class));
+	}
+
+	@Test
+	public void onCategoryChangedShouldAddCreatedEntry() {
+		snapshot.get(1L);
+		Category created = new Category(2L, "Eletrônicos");
+		created.prePersist();
+		Mockito.when(repository.findById(2L)).thenReturn(Optional.of(created));
+
+		snapshot.onCategoryChanged(new CategoryChangedEvent(2L, ChangeType.CREATED));
+
+		Assertions.assertEquals(List.of(3L, 2L, 1L), snapshot.findFirst(10).stream().map(CategoryDTO::getId)
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	public void onCategoryChangedShouldRemoveDeletedEntryWithoutQuery() {
+		long generation = snapshot.getGeneration();
+
+		snapshot.onCategoryChanged(new CategoryChangedEvent(3L, ChangeType.DELETED));
+
+		Assertions.assertFalse(snapshot.contains(3L));
+		Assertions.assertNotEquals(generation, snapshot.getGeneration());
+		Mockito.verify(repository, Mockito.never()).findById(ArgumentMatchers.anyLong());
+	}
+
+	@Test
+	public void generationShouldDependOnlyOnCategories() {
+		CategorySnapshot other = new CategorySnapshot();
+		ReflectionTestUtils.setField(other, "repository", repository);
+		ReflectionTestUtils.setField(other, "transactionManager", transactionManager);
+
+		Assertions.assertEquals(snapshot.getGeneration(), other.getGeneration());
+
+		snapshot.reload();
+		Assertions.assertEquals(other.getGeneration(), snapshot.getGeneration());
+	}
+}
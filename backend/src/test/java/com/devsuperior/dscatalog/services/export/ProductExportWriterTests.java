@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.services.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class ProductExportWriterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@Test
+	public void csvShouldWriteHeaderAndPlainFieldsUnquoted() throws IOException {
+		String csv = export(ExportFormat.CSV, product(1L, "Phone", "Good Phone"));
+
+		Assertions.assertEquals("id,name,description,price,imgUrl,date,categoryIds,categoryNames\r\n"
+				+ "1,Phone,Good Phone,800.0,https://img.com/img.png,2021-11-23T03:00:00Z,2|3,Eletrônicos|Computadores\r\n",
+				csv);
+	}
+
+	@Test
+	public void csvShouldQuoteCommasQuotesAndLineBreaks() throws IOException {
+		String csv = export(ExportFormat.CSV, product(1L, "TV, 50\"", "Line one\nLine two\r\nLine three"));
+
+		String row = csv.substring(csv.indexOf("\r\n") + 2);
+		Assertions.assertTrue(row.startsWith("1,\"TV, 50\"\"\",\"Line one\nLine two\r\nLine three\",800.0,"));
+	}
+
+	@Test
+	public void csvShouldLeaveNullFieldsEmpty() throws IOException {
+		ProductDTO product = new ProductDTO(1L, "Phone", null, null, null, null);
+
+		String csv = export(ExportFormat.CSV, product);
+
+		Assertions.assertTrue(csv.endsWith("\r\n1,Phone,,,,,,\r\n"));
+	}
+
+	@Test
+	public void ndjsonShouldWriteOneObjectPerLine() throws IOException {
+		String ndjson = export(ExportFormat.NDJSON, product(1L, "Phone", "Line one\nLine two"),
+				product(2L, "TV", "Big"));
+
+		String[] lines = ndjson.split("\n", -1);
+		Assertions.assertEquals(3, lines.length);
+		Assertions.assertEquals("", lines[2]);
+		JsonNode first = objectMapper.readTree(lines[0]);
+		Assertions.assertEquals("Line one\nLine two", first.get("description").asText());
+		Assertions.assertEquals(2, first.get("categories").size());
+		Assertions.assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+	}
+
+	@Test
+	public void fromParamShouldAcceptKnownFormatsIgnoringCase() {
+		Assertions.assertEquals(ExportFormat.CSV, ExportFormat.fromParam("CSV"));
+		Assertions.assertEquals(ExportFormat.NDJSON, ExportFormat.fromParam("ndjson"));
+		Assertions.assertEquals(ExportFormat.NDJSON, ExportFormat.fromParam("json"));
+	}
+
+	@Test
+	public void fromParamShouldThrowInvalidRequestExceptionWhenFormatIsUnknown() {
+		Assertions.assertThrows(InvalidRequestException.class, () -> ExportFormat.fromParam("xml"));
+	}
+
+	private String export(ExportFormat format, ProductDTO... products) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ProductExportWriter writer = format.open(out, objectMapper)) {
+			for (ProductDTO product : products) {
+				writer.write(product);
+			}
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static ProductDTO product(Long id, String name, String description) {
+		ProductDTO product = new ProductDTO(id, name, description, 800.0, "https://img.com/img.png",
+				Instant.parse("2021-11-23T03:00:00Z"));
+		product.getCategories().addAll(List.of(new CategoryDTO(2L, "Eletrônicos"), new CategoryDTO(3L, "Computadores")));
+		return product;
+	}
+}
@@ -0,0 +1,218 @@
+package com.devsuperior.dscatalog.services.outbox;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.devsuperior.dscatalog.dto.ChangeDTO;
+import com.devsuperior.dscatalog.dto.ChangeFeedDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.exceptions.ResourceGoneException;
+import com.devsuperior.dscatalog.tests.Factory;
+
+@SpringBootTest
+class OutboxRelayTests {
+
+	private static final String INSERT_EVENT = "INSERT INTO tb_outbox (aggregate, aggregate_id, type, created_at) VALUES ('TEST', ?, 'UPDATED', ?)";
+
+	@Autowired
+	private OutboxRelay relay;
+
+	@Autowired
+	private ChangeService changeService;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transaction;
+
+	private Object retention;
+
+	private Long productId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		transaction = new TransactionTemplate(transactionManager);
+		retention = ReflectionTestUtils.getField(relay, "retention");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.setField(relay, "retention", retention);
+		if (productId != null) {
+			productService.delete(productId);
+		}
+		jdbcTemplate.update("DELETE FROM tb_outbox WHERE aggregate = 'TEST'");
+	}
+
+	@Test
+	public void outboxRowShouldCommitAndRollBackWithTheChange() {
+		Long rolledBack = transaction.execute(status -> {
+			Long id = productService.insert(newProduct()).getId();
+			status.setRollbackOnly();
+			return id;
+		});
+		productId = productService.insert(newProduct()).getId();
+
+		Assertions.assertEquals(0, events("PRODUCT", rolledBack));
+		Assertions.assertEquals(List.of("CREATED"), jdbcTemplate.queryForList(
+				"SELECT type FROM tb_outbox WHERE aggregate = 'PRODUCT' AND aggregate_id = ?", String.class, productId));
+	}
+
+	@Test
+	public void relayShouldSequenceLateCommitAfterEarlierVisibleRows() throws Exception {
+		CountDownLatch inserted = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		CompletableFuture<Void> late = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+			jdbcTemplate.update(INSERT_EVENT, 1L, Timestamp.from(Instant.now()));
+			inserted.countDown();
+			await(commit);
+		}));
+		Assertions.assertTrue(inserted.await(5, TimeUnit.SECONDS));
+		jdbcTemplate.update(INSERT_EVENT, 2L, Timestamp.from(Instant.now()));
+		relay.relay();
+
+		Assertions.assertNotNull(sequenceOf(2L));
+		commit.countDown();
+		late.get(5, TimeUnit.SECONDS);
+		relay.relay();
+
+		Assertions.assertTrue(idOf(1L) < idOf(2L));
+		Assertions.assertTrue(sequenceOf(1L) > sequenceOf(2L));
+		Assertions.assertEquals(relay.getLatest(),
+				jdbcTemplate.queryForObject("SELECT MAX(sequence) FROM tb_outbox", Long.class));
+	}
+
+	@Test
+	public void purgeShouldDeleteOnlyRelayedEventsPastRetention() {
+		jdbcTemplate.update(INSERT_EVENT, 1L, Timestamp.from(Instant.now().minus(Duration.ofDays(8))));
+		jdbcTemplate.update(INSERT_EVENT, 2L, Timestamp.from(Instant.now()));
+		relay.relay();
+
+		relay.purge();
+
+		Assertions.assertEquals(0, events("TEST", 1L));
+		Assertions.assertEquals(1, events("TEST", 2L));
+	}
+
+	@Test
+	public void relayAfterPurgeShouldKeepSequencesIncreasing() {
+		jdbcTemplate.update(INSERT_EVENT, 1L, Timestamp.from(Instant.now()));
+		relay.relay();
+		long before = relay.getLatest();
+		// every relayed event counts as expired, so the table is left without a single sequence
+		ReflectionTestUtils.setField(relay, "retention", Duration.ofSeconds(-1));
+		relay.purge();
+		Assertions.assertNull(jdbcTemplate.queryForObject("SELECT MAX(sequence) FROM tb_outbox", Long.class));
+
+		jdbcTemplate.update(INSERT_EVENT, 2L, Timestamp.from(Instant.now()));
+		int relayed = relay.relay();
+
+		Assertions.assertEquals(1, relayed);
+		Assertions.assertEquals(before + 1, sequenceOf(2L));
+		Assertions.assertEquals(before + 1, relay.getLatest());
+		Assertions.assertEquals(before, relay.getPurgedThrough());
+
+		// and the same after a restart
+		relay.loadCursor();
+		Assertions.assertEquals(before + 1, relay.getLatest());
+		Assertions.assertEquals(before, relay.getPurgedThrough());
+	}
+
+	@Test
+	public void pollAndStreamShouldBeGoneWhenSinceIsBeforePurgedEvents() {
+		jdbcTemplate.update(INSERT_EVENT, 1L, Timestamp.from(Instant.now().minus(Duration.ofDays(8))));
+		relay.relay();
+		long purged = sequenceOf(1L);
+		relay.purge();
+
+		Assertions.assertThrows(ResourceGoneException.class,
+				() -> changeService.poll(purged - 1, 10, Duration.ZERO));
+		Assertions.assertThrows(ResourceGoneException.class, () -> changeService.stream(purged - 1));
+		Assertions.assertTrue(changeService.poll(purged, 10, Duration.ZERO).hasResult());
+	}
+
+	@Test
+	public void pollShouldCompleteWhenMatchingChangeIsRelayed() throws Exception {
+		relay.relay();
+		long since = relay.getLatest();
+		DeferredResult<ChangeFeedDTO> result = changeService.poll(since, 10, Duration.ofSeconds(10));
+		Assertions.assertFalse(result.hasResult());
+
+		productId = productService.insert(newProduct()).getId();
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertTrue(result.hasResult());
+		ChangeFeedDTO feed = (ChangeFeedDTO) result.getResult();
+		ChangeDTO change = feed.getChanges().get(0);
+		Assertions.assertEquals("PRODUCT", change.getAggregate());
+		Assertions.assertEquals(productId, change.getAggregateId());
+		Assertions.assertEquals(change.getSequence(), feed.getNext());
+		Assertions.assertTrue(change.getSequence() > since);
+	}
+
+	@Test
+	public void pollWithZeroTimeoutShouldAnswerImmediately() {
+		relay.relay();
+
+		DeferredResult<ChangeFeedDTO> result = changeService.poll(relay.getLatest(), 10, Duration.ZERO);
+
+		Assertions.assertTrue(result.hasResult());
+		Assertions.assertTrue(((ChangeFeedDTO) result.getResult()).getChanges().isEmpty());
+	}
+
+	private long events(String aggregate, Long aggregateId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_outbox WHERE aggregate = ? AND aggregate_id = ?",
+				Long.class, aggregate, aggregateId);
+	}
+
+	private Long sequenceOf(Long aggregateId) {
+		return jdbcTemplate.queryForObject("SELECT sequence FROM tb_outbox WHERE aggregate = 'TEST' AND aggregate_id = ?",
+				Long.class, aggregateId);
+	}
+
+	private Long idOf(Long aggregateId) {
+		return jdbcTemplate.queryForObject("SELECT id FROM tb_outbox WHERE aggregate = 'TEST' AND aggregate_id = ?",
+				Long.class, aggregateId);
+	}
+
+	private static ProductDTO newProduct() {
+		ProductDTO dto = Factory.createProductDTO();
+		dto.setId(null);
+		return dto;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.services.pagination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.repositories.UserRepository;
+
+@ExtendWith(SpringExtension.class)
+class TableCountersTests {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	private TableCounters counters;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		Mockito.when(productRepository.count()).thenReturn(25L);
+		counters = new TableCounters(productRepository, categoryRepository, userRepository);
+		counters.count(Product.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void addShouldApplyImmediatelyOutsideTransaction() {
+		counters.increment(Product.class);
+
+		Assertions.assertEquals(26L, counters.count(Product.class));
+	}
+
+	@Test
+	public void addShouldWaitForCommitInsideTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		counters.increment(Product.class);
+		counters.add(Product.class, 3L);
+		Assertions.assertEquals(25L, counters.count(Product.class));
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		Assertions.assertEquals(29L, counters.count(Product.class));
+	}
+
+	@Test
+	public void addShouldBeDiscardedOnRollback() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		counters.decrement(Product.class);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		Assertions.assertEquals(25L, counters.count(Product.class));
+	}
+}
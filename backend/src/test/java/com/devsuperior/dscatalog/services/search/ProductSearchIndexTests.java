@@ -0,0 +1,135 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.devsuperior.dscatalog.dto.CategoryDTO;
+import com.devsuperior.dscatalog.dto.ProductDTO;
+import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.exceptions.InvalidRequestException;
+
+@SpringBootTest
+class ProductSearchIndexTests {
+
+	@Autowired
+	private ProductSearchIndex index;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private ProductRepository repository;
+
+	private Long productId;
+
+	private Long categoryId;
+
+	@AfterEach
+	void tearDown() {
+		if (productId != null) {
+			productService.delete(productId);
+		}
+		if (categoryId != null) {
+			categoryService.delete(categoryId);
+		}
+	}
+
+	@Test
+	public void searchShouldFindSeededProductsIgnoringCase() {
+		Page<ProductDTO> result = index.search("MACBOOK", PageRequest.of(0, 10));
+
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+		Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+		Assertions.assertTrue(index.search("computadores", PageRequest.of(0, 10)).getTotalElements() > 0);
+	}
+
+	@Test
+	public void searchShouldRequireAllTerms() {
+		Assertions.assertEquals(1, index.search("macbook pro", PageRequest.of(0, 10)).getTotalElements());
+		Assertions.assertEquals(0, index.search("macbook gamer", PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	public void searchShouldRejectEmptyQueryAndDeepPages() {
+		Assertions.assertThrows(InvalidRequestException.class, () -> index.search("  ", PageRequest.of(0, 10)));
+		Assertions.assertThrows(InvalidRequestException.class,
+				() -> index.search("macbook", PageRequest.of(1000, 10)));
+	}
+
+	@Test
+	public void productChangesShouldBeIndexedAfterCommit() throws Exception {
+		productId = productService.insert(product("Câmera Quokka", null)).getId();
+
+		Page<ProductDTO> found = awaitHits("camera quokka", 1);
+		Assertions.assertEquals(productId, found.getContent().get(0).getId());
+
+		ProductDTO renamed = product("Câmera Wombat", null);
+		productService.update(productId, renamed);
+		awaitHits("wombat", 1);
+		Assertions.assertEquals(0, index.search("quokka", PageRequest.of(0, 10)).getTotalElements());
+
+		productService.delete(productId);
+		productId = null;
+		awaitHits("wombat", 0);
+	}
+
+	@Test
+	public void categoryRenameShouldReindexItsProducts() throws Exception {
+		categoryId = categoryService.insert(new CategoryDTO(null, "Numbats")).getId();
+		productId = productService.insert(product("Field Guide", categoryId)).getId();
+		awaitHits("numbats", 1);
+
+		categoryService.update(categoryId, new CategoryDTO(null, "Bilbies"));
+
+		Page<ProductDTO> found = awaitHits("bilbies", 1);
+		Assertions.assertEquals(0, index.search("numbats", PageRequest.of(0, 10)).getTotalElements());
+		Assertions.assertEquals(productId, found.getContent().get(0).getId());
+		Assertions.assertEquals("Bilbies", found.getContent().get(0).getCategories().get(0).getName());
+	}
+
+	@Test
+	public void rebuildShouldIndexEveryProduct() throws Exception {
+		long count = index.rebuild();
+
+		Assertions.assertEquals(repository.count(), count);
+		Assertions.assertEquals(repository.findAll().stream().map(Product::getId).collect(Collectors.toSet()),
+				index.search("lorem", PageRequest.of(0, 1000)).stream().map(ProductDTO::getId)
+						.collect(Collectors.toSet()));
+	}
+
+	// indexing happens on a background thread, so changes show up shortly after the commit
+	private Page<ProductDTO> awaitHits(String text, long hits) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		Page<ProductDTO> result = index.search(text, PageRequest.of(0, 10));
+		while (result.getTotalElements() != hits && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			result = index.search(text, PageRequest.of(0, 10));
+		}
+		Assertions.assertEquals(hits, result.getTotalElements());
+		return result;
+	}
+
+	private static ProductDTO product(String name, Long categoryId) {
+		ProductDTO dto = new ProductDTO(null, name, "Lorem ipsum", 99.9, "https://img.com/img.png",
+				Instant.parse("2021-01-01T00:00:00Z"));
+		if (categoryId != null) {
+			dto.getCategories().add(new CategoryDTO(categoryId, null));
+		}
+		return dto;
+	}
+}
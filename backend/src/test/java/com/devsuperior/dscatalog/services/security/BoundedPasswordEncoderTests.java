@@ -0,0 +1,162 @@
+package com.devsuperior.dscatalog.services.security;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTests {
+
+	private SimpleMeterRegistry registry;
+
+	private BoundedPasswordEncoder encoder;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		registry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (encoder != null) {
+			encoder.shutdown();
+		}
+	}
+
+	@Test
+	public void encodeShouldRoundTripThroughMatches() {
+		encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, Duration.ofSeconds(5),
+				Duration.ofSeconds(30), registry);
+
+		String encoded = encoder.encode("123456");
+
+		Assertions.assertNotEquals("123456", encoded);
+		Assertions.assertTrue(encoder.matches("123456", encoded));
+		Assertions.assertFalse(encoder.matches("654321", encoded));
+	}
+
+	@Test
+	public void matchesShouldServeRepeatedSuccessFromMemo() {
+		CountingEncoder delegate = new CountingEncoder(new BCryptPasswordEncoder(4));
+		encoder = new BoundedPasswordEncoder(delegate, 2, 10, Duration.ofSeconds(5), Duration.ofSeconds(30),
+				registry);
+		String encoded = encoder.encode("123456");
+
+		Assertions.assertTrue(encoder.matches("123456", encoded));
+		Assertions.assertTrue(encoder.matches("123456", encoded));
+		Assertions.assertTrue(encoder.matches("123456", encoded));
+
+		Assertions.assertEquals(1, delegate.matches);
+		Assertions.assertEquals(2.0, registry.get("security.password.memo.hits").counter().count());
+	}
+
+	@Test
+	public void matchesShouldNotMemoizeFailures() {
+		CountingEncoder delegate = new CountingEncoder(new BCryptPasswordEncoder(4));
+		encoder = new BoundedPasswordEncoder(delegate, 2, 10, Duration.ofSeconds(5), Duration.ofSeconds(30),
+				registry);
+		String encoded = encoder.encode("123456");
+
+		Assertions.assertFalse(encoder.matches("wrong", encoded));
+		Assertions.assertFalse(encoder.matches("wrong", encoded));
+
+		Assertions.assertEquals(2, delegate.matches);
+		Assertions.assertEquals(0.0, registry.get("security.password.memo.hits").counter().count());
+	}
+
+	@Test
+	public void encodeShouldRejectWhenSaturated() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		BlockingEncoder delegate = new BlockingEncoder(release);
+		encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(30),
+				registry);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+		Assertions.assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+		while (registry.get("executor.queued").tag("name", "password-encoder").gauge().value() < 1) {
+			Thread.sleep(10);
+		}
+
+		AuthenticationServiceException e = Assertions.assertThrows(AuthenticationServiceException.class,
+				() -> encoder.encode("c"));
+
+		Assertions.assertEquals("Password encoder is saturated", e.getMessage());
+		Assertions.assertEquals(1.0, registry.get("security.password.rejected").counter().count());
+		release.countDown();
+		Assertions.assertEquals("encoded:a", running.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("encoded:b", queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void encodeShouldFailWhenDelegateExceedsTimeout() {
+		CountDownLatch release = new CountDownLatch(1);
+		encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, Duration.ofMillis(100),
+				Duration.ofSeconds(30), registry);
+
+		AuthenticationServiceException e = Assertions.assertThrows(AuthenticationServiceException.class,
+				() -> encoder.encode("a"));
+
+		Assertions.assertEquals("Password encoder timed out", e.getMessage());
+		release.countDown();
+	}
+
+	private static class CountingEncoder implements PasswordEncoder {
+
+		private final PasswordEncoder delegate;
+
+		private volatile int matches;
+
+		CountingEncoder(PasswordEncoder delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return delegate.encode(rawPassword);
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			matches++;
+			return delegate.matches(rawPassword, encodedPassword);
+		}
+	}
+
+	private static class BlockingEncoder implements PasswordEncoder {
+
+		private final CountDownLatch release;
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		BlockingEncoder(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "encoded:" + rawPassword;
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return encodedPassword.equals(encode(rawPassword));
+		}
+	}
+}